@@ -0,0 +1,131 @@
+package chess.batch;
+
+import chess.evaluation.PieceSquareTables;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluator processing as many chessboards per instruction as the vector units of the CPU allow.
+ * It needs the incubating Vector API, so it lives in its own source root, compiled after the main sources with
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -cp out -d out $(find src-vector -name '*.java')
+ * </pre>
+ * and used only when the program runs with --add-modules jdk.incubator.vector.
+ * BatchEvaluator.create loads it by name and falls back to ScalarBatchEvaluator when it is missing.
+ */
+class VectorBatchEvaluator implements BatchEvaluator {
+
+    //vector units narrower than 256 bits run the Vector API slower than plain loops, wider ones are capped at 16 lanes
+    private static final int MIN_BITS = 256;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED.length() > 16
+            ? IntVector.SPECIES_512 : IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = VectorSpecies.of(byte.class, VectorShape.forBitSize(INTS.length() * 8));
+    private static final byte WHITE_PAWN = 1;
+    private static final byte BLACK_PAWN = 7;
+
+    private static final int WIDTH = 16;
+
+    //values of every code on every square, 16 codes per square, so a square is one or two vector loads
+    private final int[] middlegame = flatten(BatchEvaluator.middlegameTable());
+    private final int[] endgame = flatten(BatchEvaluator.endgameTable());
+    private final int[] phase = flatten(new int[][]{BatchEvaluator.phaseTable()});
+    private final ScalarBatchEvaluator tail = new ScalarBatchEvaluator();
+
+    /**
+     * The VectorBatchEvaluator constructor. Throws UnsupportedOperationException if the preferred vectors
+     * of the CPU are narrower than 256 bits, the scalar evaluator is faster there.
+     */
+    VectorBatchEvaluator() {
+        if (IntVector.SPECIES_PREFERRED.vectorBitSize() < MIN_BITS) {
+            throw new UnsupportedOperationException("Vectors of " + IntVector.SPECIES_PREFERRED.vectorBitSize()
+                    + " bits are too narrow");
+        }
+    }
+
+    @Override
+    public void evaluate(BoardBatch batch, int[] scores) {
+        int lanes = INTS.length();
+        int bound = batch.size() - batch.size() % lanes;
+        IntVector zero = IntVector.zero(INTS);
+        for (int i = 0; i < bound; i += lanes) {
+            IntVector mg = zero;
+            IntVector eg = zero;
+            IntVector ph = zero;
+            IntVector pushes = zero;
+            for (int square = 0; square < 64; square++) {
+                IntVector codes = load(batch, square, i);
+                //every lane looks its value up in the table of the square instead of comparing against every code
+                mg = mg.add(lookup(middlegame, square, codes));
+                eg = eg.add(lookup(endgame, square, codes));
+                ph = ph.add(lookup(phase, 0, codes));
+                if (square < 56) {
+                    VectorMask<Integer> push = codes.compare(VectorOperators.EQ, WHITE_PAWN)
+                            .and(load(batch, square + 8, i).compare(VectorOperators.EQ, BoardBatch.EMPTY));
+                    pushes = pushes.add(1, push);
+                }
+                if (square >= 8) {
+                    VectorMask<Integer> push = codes.compare(VectorOperators.EQ, BLACK_PAWN)
+                            .and(load(batch, square - 8, i).compare(VectorOperators.EQ, BoardBatch.EMPTY));
+                    pushes = pushes.sub(1, push);
+                }
+            }
+            ph = ph.min(PieceSquareTables.MAX_PHASE);
+            mg.mul(ph)
+                    .add(eg.mul(ph.neg().add(PieceSquareTables.MAX_PHASE)))
+                    .div(PieceSquareTables.MAX_PHASE)
+                    .add(pushes.mul(PAWN_PUSH_WEIGHT))
+                    .intoArray(scores, i);
+        }
+        tail.evaluate(batch, scores, bound);
+    }
+
+    /**
+     * The method looks up values of the given codes in the table of a square.
+     * With 16 lanes the whole table is a single vector, with 8 lanes it is split into two halves.
+     *
+     * @param table  values indexed [square * 16 + code]
+     * @param square index of the square
+     * @param codes  codes of the square, one lane per chessboard
+     * @return values of the codes
+     */
+    private static IntVector lookup(int[] table, int square, IntVector codes) {
+        int offset = square * WIDTH;
+        if (INTS.length() == WIDTH) {
+            return codes.selectFrom(IntVector.fromArray(INTS, table, offset));
+        }
+        IntVector low = codes.and(7);
+        return low.selectFrom(IntVector.fromArray(INTS, table, offset))
+                .blend(low.selectFrom(IntVector.fromArray(INTS, table, offset + 8)), codes.compare(VectorOperators.GE, 8));
+    }
+
+    /**
+     * The method lays out a table indexed [square][code] as a single array with 16 codes per square
+     *
+     * @param table table to flatten
+     * @return flat table
+     */
+    private static int[] flatten(int[][] table) {
+        int[] flat = new int[table.length * WIDTH];
+        for (int square = 0; square < table.length; square++) {
+            System.arraycopy(table[square], 0, flat, square * WIDTH, table[square].length);
+        }
+        return flat;
+    }
+
+    /**
+     * The method loads codes of a square for consecutive chessboards of the batch and widens them to ints
+     *
+     * @param batch  chessboards to evaluate
+     * @param square index of the square
+     * @param from   index of the first chessboard
+     * @return codes of the square, one lane per chessboard
+     */
+    private static IntVector load(BoardBatch batch, int square, int from) {
+        return (IntVector) ByteVector.fromArray(BYTES, batch.square(square), from)
+                .convertShape(VectorOperators.B2I, INTS, 0);
+    }
+}
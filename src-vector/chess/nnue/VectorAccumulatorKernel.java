@@ -0,0 +1,79 @@
+package chess.nnue;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Accumulator kernel working on as many int16 values per instruction as the vector units of the CPU allow.
+ * Like VectorBatchEvaluator it needs the incubating Vector API, so it lives in src-vector and is used only
+ * when the program runs with --add-modules jdk.incubator.vector.
+ * AccumulatorKernel.create loads it by name and falls back to ScalarAccumulatorKernel when it is missing.
+ */
+class VectorAccumulatorKernel implements AccumulatorKernel {
+
+    //vector units narrower than 256 bits run the Vector API slower than plain loops
+    private static final int MIN_BITS = 256;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = VectorSpecies.of(byte.class, VectorShape.forBitSize(SHORTS.length() * 8));
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, VectorShape.forBitSize(SHORTS.length() * 16));
+    private static final short CLIP = 127;
+
+    private final ScalarAccumulatorKernel tail = new ScalarAccumulatorKernel();
+
+    /**
+     * The VectorAccumulatorKernel constructor. Throws UnsupportedOperationException if the preferred vectors
+     * of the CPU are narrower than 256 bits, the scalar kernel is faster there.
+     */
+    VectorAccumulatorKernel() {
+        if (SHORTS.vectorBitSize() < MIN_BITS) {
+            throw new UnsupportedOperationException("Vectors of " + SHORTS.vectorBitSize() + " bits are too narrow");
+        }
+    }
+
+    @Override
+    public void move(short[] accumulators, int from, int to, short[] featureWeights, int add, int remove, int length) {
+        int bound = SHORTS.loopBound(length);
+        for (int i = 0; i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, accumulators, from + i)
+                    .add(ShortVector.fromArray(SHORTS, featureWeights, add + i))
+                    .sub(ShortVector.fromArray(SHORTS, featureWeights, remove + i))
+                    .intoArray(accumulators, to + i);
+        }
+        tail.move(accumulators, from + bound, to + bound, featureWeights, add + bound, remove + bound, length - bound);
+    }
+
+    @Override
+    public void capture(short[] accumulators, int from, int to, short[] featureWeights, int add, int remove, int capture, int length) {
+        int bound = SHORTS.loopBound(length);
+        for (int i = 0; i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, accumulators, from + i)
+                    .add(ShortVector.fromArray(SHORTS, featureWeights, add + i))
+                    .sub(ShortVector.fromArray(SHORTS, featureWeights, remove + i))
+                    .sub(ShortVector.fromArray(SHORTS, featureWeights, capture + i))
+                    .intoArray(accumulators, to + i);
+        }
+        tail.capture(accumulators, from + bound, to + bound, featureWeights,
+                add + bound, remove + bound, capture + bound, length - bound);
+    }
+
+    @Override
+    public int dot(short[] accumulators, int offset, byte[] outputWeights, int from, int length) {
+        int bound = SHORTS.loopBound(length);
+        IntVector sum = IntVector.zero(INTS);
+        for (int i = 0; i < bound; i += SHORTS.length()) {
+            ShortVector clipped = ShortVector.fromArray(SHORTS, accumulators, offset + i).max((short) 0).min(CLIP);
+            ShortVector weights = (ShortVector) ByteVector.fromArray(BYTES, outputWeights, from + i)
+                    .convertShape(VectorOperators.B2S, SHORTS, 0);
+            //127 times -128 still fits int16, only the sum needs int32
+            ShortVector products = clipped.mul(weights);
+            sum = sum.add(products.convertShape(VectorOperators.S2I, INTS, 0))
+                    .add(products.convertShape(VectorOperators.S2I, INTS, 1));
+        }
+        return sum.reduceLanes(VectorOperators.ADD)
+                + tail.dot(accumulators, offset + bound, outputWeights, from + bound, length - bound);
+    }
+}
@@ -1,14 +1,126 @@
+import chess.ChessBoard;
+import chess.ChessDoer;
 import chess.ChessPlay;
+import chess.batch.BatchAnalyzer;
+import chess.engine.SearchLimits;
+import chess.metrics.RulesEngineMetrics;
+import chess.nnue.NetworkWeights;
+import chess.nnue.NnueBenchmark;
+import chess.soak.AllocationSoak;
+import chess.soak.SoakBudget;
+import chess.tournament.EngineSettings;
+import chess.tournament.GameResult;
+import chess.tournament.TournamentRunner;
+import chess.validation.ChessArbiter;
+import chess.enums.ChessPieceColor;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Main {
 
     /**
-     * The main method of the program
+     * The main method of the program.
+     * Without arguments two players play against each other,
+     * with the argument "engine" the player plays whites against the engine that ponders on the player's time,
+     * with the arguments "batch input output [threads]" positions from the input file are analyzed into the output file,
+     * with the arguments "tournament openings results engine engine..." engines given as "name:depth:nodes:millis"
+     * play each other from the openings and results of the games are written to the results file,
+     * the system properties chess.tournament.rounds and chess.tournament.seed set how many times the openings are played
+     * and the seed of the random first moves,
+     * with the arguments "soak [games] [plies]" random games are played and the program exits with status 1
+     * if allocation per move or per validation or old generation growth exceed their budgets,
+     * with the arguments "nnue-bench [weights]" the speed of the network evaluation is compared with the classical one,
+     * random weights are measured when no weights file is given,
+     * with the argument "cold-start" the time from the start of the program to the first validated move is printed.
+     * Except for "cold-start" the rules engine metrics are registered in the platform MBean server first.
      * @param args command line arguments
+     * @throws IOException if the batch analysis, the tournament or the benchmark cannot read or write its files
+     * @throws InterruptedException if the tournament is interrupted
      */
-    public static void main(String[] args) {
-        ChessPlay game = new ChessPlay();
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length >= 1 && args[0].equals("cold-start")) {
+            probeColdStart();
+            return;
+        }
+        RulesEngineMetrics.registerMBean();
+        if (args.length >= 1 && args[0].equals("soak")) {
+            int games = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+            int plies = args.length > 2 ? Integer.parseInt(args[2]) : 300;
+            SoakBudget budget = SoakBudget.fromSystemProperties(new SoakBudget(1024, 8192, 16 * 1024 * 1024));
+            List<String> violations = new AllocationSoak(budget, System.out).run(games, plies, 1, 4);
+            violations.forEach(System.err::println);
+            System.exit(violations.isEmpty() ? 0 : 1);
+        }
+        if (args.length >= 1 && args[0].equals("nnue-bench")) {
+            NetworkWeights weights = args.length > 1 ? NetworkWeights.load(Path.of(args[1])) : NetworkWeights.random(256, 1);
+            new NnueBenchmark(weights, 2000, 1).run(5, System.out);
+            return;
+        }
+        if (args.length >= 5 && args[0].equals("tournament")) {
+            playTournament(args);
+            return;
+        }
+        if (args.length >= 3 && args[0].equals("batch")) {
+            int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+            new BatchAnalyzer(threads, System.err).analyze(Path.of(args[1]), Path.of(args[2]));
+            return;
+        }
+        ChessPlay game = args.length > 0 && args[0].equals("engine")
+                ? new ChessPlay(ChessPieceColor.BLACK, SearchLimits.millis(3000), true)
+                : new ChessPlay();
         game.playChess();
     }
 
+    /**
+     * The method plays a tournament of engines on all the available processors
+     * @param args command line arguments: "tournament openings results engine engine..."
+     * @throws IOException if the openings cannot be read or the results cannot be written
+     * @throws InterruptedException if the tournament is interrupted
+     */
+    private static void playTournament(String[] args) throws IOException, InterruptedException {
+        List<String> openings = new ArrayList<>();
+        for (String line : Files.readAllLines(Path.of(args[1]))) {
+            if (!line.isBlank()) {
+                openings.add(line.trim());
+            }
+        }
+        List<EngineSettings> engines = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            engines.add(EngineSettings.parse(args[i]));
+        }
+        TournamentRunner runner = new TournamentRunner(engines, openings, Runtime.getRuntime().availableProcessors(), 200,
+                Integer.getInteger("chess.tournament.rounds", 1), Long.getLong("chess.tournament.seed", 1));
+        long start = System.nanoTime();
+        List<GameResult> results;
+        try (PrintStream out = new PrintStream(Files.newOutputStream(Path.of(args[2])), true)) {
+            results = runner.run(out::println);
+        }
+        TournamentRunner.printSummary(results, System.nanoTime() - start, System.out);
+    }
+
+
+    /**
+     * The method validates a single move on a fresh JVM and prints how long it took since main was entered
+     * and since the JVM started.
+     * It must run before anything else touches the rules engine, otherwise the cost is already paid.
+     * Nearly all of that time is loading and interpreting classes, so short-lived JVMs should be started
+     * from a jar with a class data archive, dumped once with -XX:ArchiveClassesAtExit=chess.jsa
+     * and used with -XX:SharedArchiveFile=chess.jsa.
+     */
+    private static void probeColdStart() {
+        long start = System.nanoTime();
+        boolean legal = ChessArbiter.isStrictlyLegalMove(ChessBoard.create(), ChessDoer.getBoundVector("e2e4"));
+        long elapsed = System.nanoTime() - start;
+        long finished = System.currentTimeMillis();
+        //the management classes are loaded only after the measurement, so they do not count
+        long sinceJvmStart = finished - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.printf("first validated move (%s) %.2f ms after main, %d ms after JVM start%n",
+                legal ? "legal" : "illegal", elapsed / 1e6, sinceJvmStart);
+    }
 }
@@ -0,0 +1,45 @@
+package chess;
+
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.navigation.Position;
+
+public interface BoardChangeListener {
+
+    /**
+     * The listener that ignores every change
+     */
+    BoardChangeListener NONE = new BoardChangeListener() {
+        @Override
+        public void pieceRemoved(Position where, ChessPiece chessPiece) {
+        }
+
+        @Override
+        public void pieceAdded(Position where, ChessPiece chessPiece) {
+        }
+    };
+
+    /**
+     * The method is called when a chesspiece is taken off the given position
+     *
+     * @param where      position the chesspiece was standing on
+     * @param chessPiece chesspiece that was removed
+     */
+    void pieceRemoved(Position where, ChessPiece chessPiece);
+
+    /**
+     * The method is called when a chesspiece is put on the given position
+     *
+     * @param where      position the chesspiece is standing on now
+     * @param chessPiece chesspiece that was added
+     */
+    void pieceAdded(Position where, ChessPiece chessPiece);
+
+    /**
+     * The method is called after the move when the color on the move changes
+     *
+     * @param currentColor color that is on the move now
+     */
+    default void colorFlipped(ChessPieceColor currentColor) {
+    }
+}
@@ -9,8 +9,11 @@ import chess.enums.PromotionType;
 import chess.element.ChessPiece;
 import chess.element.ChessSlot;
 import chess.element.ChessTile;
+import chess.metrics.RulesEngineMetrics;
+import chess.metrics.WorkTally;
 
 import java.util.Arrays;
+import java.util.Map;
 
 public class ChessBoard {
     private final static int x = 8;
@@ -18,6 +21,7 @@ public class ChessBoard {
 
     private final ChessPieceColor currentColor;
     private final ChessSlot[][] contents;
+    private int hashCode;
 
     /**
      * Private ChessBoard constructor
@@ -30,6 +34,25 @@ public class ChessBoard {
         this.contents = contents;
     }
 
+    /**
+     * The method generates the tile that should be placed at the given row and column of contents
+     *
+     * @param i row of contents, 0 is the eighth rank
+     * @param j column of contents, 0 is the a file
+     * @return tile for that place
+     */
+    private static ChessTile getInitialTile(int i, int j) {
+        ChessTileColor tileColor = (i % 2 == j % 2) ? ChessTileColor.WHITE : ChessTileColor.BLACK;
+        PromotionType promotionType = PromotionType.FOR_NONE;
+        if (i == 0) {
+            promotionType = PromotionType.FOR_WHITES;
+        }
+        if (i == 7) {
+            promotionType = PromotionType.FOR_BLACKS;
+        }
+        return new ChessTile(tileColor, promotionType);
+    }
+
     /**
      * The method generates contents that Chessboard should be initialized with
      *
@@ -43,29 +66,18 @@ public class ChessBoard {
                 ChessType.BISHOP, ChessType.KNIGHT, ChessType.ROOK};
         ChessPieceColor pieceColor;
         ChessType pieceType = null;
-        ChessTileColor tileColor;
-        PromotionType promotionType;
         ChessPiece piece;
-        ChessTile tile;
         for (int i = 0; i < y; i++) {
             for (int j = 0; j < x; j++) {
-                tileColor = (i % 2 == j % 2) ? ChessTileColor.WHITE : ChessTileColor.BLACK;
                 pieceColor = (i == 0 || i == 1) ? ChessPieceColor.BLACK : ChessPieceColor.WHITE;
-                promotionType = PromotionType.FOR_NONE;
-                if (i == 0) {
-                    promotionType = PromotionType.FOR_WHITES;
+                if (i == 0 || i == 7) {
                     pieceType = types[j];
                 }
                 if (i == 1 || i == 6) {
                     pieceType = ChessType.PAWN;
                 }
-                if (i == 7) {
-                    promotionType = PromotionType.FOR_BLACKS;
-                    pieceType = types[j];
-                }
-                tile = new ChessTile(tileColor, promotionType);
                 piece = (i == 2 || i == 3 || i == 4 || i == 5) ? null : new ChessPiece(pieceType, pieceColor, false);
-                contents[i][j] = new ChessSlot(tile, piece);
+                contents[i][j] = new ChessSlot(getInitialTile(i, j), piece);
             }
         }
         return contents;
@@ -80,6 +92,33 @@ public class ChessBoard {
         return new ChessBoard(ChessPieceColor.WHITE, getInitialContents());
     }
 
+    /**
+     * The factory method creating a new ChessBoard with chesspieces placed at the given positions
+     * and the rest of the board empty. Throws IllegalArgumentException if any position is invalid.
+     *
+     * @param currentColor color that is on the move
+     * @param chessPieces  chesspieces together with positions they stand on
+     * @return new ChessBoard object
+     */
+    public static ChessBoard create(ChessPieceColor currentColor, Map<Position, ChessPiece> chessPieces) {
+        if (currentColor == null) {
+            throw new IllegalArgumentException("Current color cannot be null");
+        }
+        ChessSlot[][] contents = new ChessSlot[y][x];
+        for (int i = 0; i < y; i++) {
+            for (int j = 0; j < x; j++) {
+                contents[i][j] = new ChessSlot(getInitialTile(i, j), null);
+            }
+        }
+        ChessBoard chessBoard = new ChessBoard(currentColor, contents);
+        for (Map.Entry<Position, ChessPiece> entry : chessPieces.entrySet()) {
+            chessBoard.checkPosition(entry.getKey());
+            contents[(y - 1) - entry.getKey().y()][entry.getKey().x()] = new ChessSlot(
+                    getInitialTile((y - 1) - entry.getKey().y(), entry.getKey().x()), entry.getValue());
+        }
+        return chessBoard;
+    }
+
     /**
      * The method checks whether a given position is within boundaries of this chessboard
      *
@@ -190,15 +229,16 @@ public class ChessBoard {
     }
 
     /**
-     * Private method that copies the contents of this ChessBoard object
+     * Private method that copies the contents of this ChessBoard object, sharing every row except the given one.
+     * Rows are never modified once a chessboard is created, so chessboards made one from another
+     * can safely share all the rows a move did not touch.
      *
-     * @return copy of contents of this chessboard
+     * @param row the only row of contents that gets copied
+     * @return contents sharing all the other rows with this chessboard
      */
-    private ChessSlot[][] getContents() {
-        ChessSlot[][] copy = new ChessSlot[y][x];
-        for (int i = 0; i < y; i++) {
-            copy[i] = Arrays.copyOf(contents[i], x);
-        }
+    private ChessSlot[][] getContentsWithCopiedRow(int row) {
+        ChessSlot[][] copy = Arrays.copyOf(contents, y);
+        copy[row] = Arrays.copyOf(contents[row], x);
         return copy;
     }
 
@@ -212,8 +252,10 @@ public class ChessBoard {
      */
     public ChessBoard getChessBoardWithChangedChessPiece(Position where, ChessPiece toValue) {
         checkPosition(where);
-        ChessSlot[][] copy = getContents();
+        ChessSlot[][] copy = getContentsWithCopiedRow((y - 1) - where.y());
         copy[(y - 1) - where.y()][where.x()] = new ChessSlot(getElement(where).tile(), toValue);
+        RulesEngineMetrics.countBoardCreated();
+        WorkTally.countBoard();
         return new ChessBoard(getCurrentColor(), copy);
     }
 
@@ -224,6 +266,8 @@ public class ChessBoard {
      * @return chessboard with a flipped color
      */
     public ChessBoard getChessBoardWithFlippedColor() {
+        RulesEngineMetrics.countBoardCreated();
+        WorkTally.countBoard();
         return new ChessBoard(currentColor.oppositeColor(), contents);
     }
 
@@ -275,6 +319,12 @@ public class ChessBoard {
      */
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(contents);
+        //contents never change, so the hash code is computed once and reused
+        int result = hashCode;
+        if (result == 0) {
+            result = Arrays.deepHashCode(contents);
+            hashCode = result;
+        }
+        return result;
     }
 }
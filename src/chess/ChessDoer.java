@@ -5,6 +5,7 @@ import chess.navigation.Position;
 import chess.element.ChessPiece;
 import chess.enums.ChessPieceColor;
 import chess.enums.ChessType;
+import chess.metrics.RulesEngineMetrics;
 
 public interface ChessDoer {
     /**
@@ -16,16 +17,42 @@ public interface ChessDoer {
      * @return modified chessboard with move made
      */
     static ChessBoard makeStandardChessMove(ChessBoard chessBoard, BoundVector boundVector, PromotionTypeProvider provider) {
-        ChessPiece chessPiece = chessBoard.getElement(boundVector.origin()).piece();
+        return makeStandardChessMove(chessBoard, boundVector, provider, BoardChangeListener.NONE);
+    }
+
+    /**
+     * The method performs a standard chess move and reports every chesspiece
+     * taken off or put on the board to the given listener
+     *
+     * @param chessBoard  chessboard the move takes place on
+     * @param boundVector represents the move
+     * @param provider    represents a way to handle pawn promotion
+     * @param listener    listener notified about the changes the move makes
+     * @return modified chessboard with move made
+     */
+    static ChessBoard makeStandardChessMove(ChessBoard chessBoard, BoundVector boundVector, PromotionTypeProvider provider,
+                                            BoardChangeListener listener) {
+        long start = RulesEngineMetrics.startTimer();
+        ChessPiece movedPiece = chessBoard.getElement(boundVector.origin()).piece();
+        ChessPiece capturedPiece = chessBoard.getElement(boundVector.destination()).piece();
+        ChessPiece chessPiece;
         ChessPieceColor colorToPromote = chessBoard.getElement(boundVector.destination()).tile().promotionType().matchingColor();
-        if (colorToPromote != null && chessPiece.type() == ChessType.PAWN && colorToPromote == chessPiece.color()) {
-            chessPiece = new ChessPiece(provider.getPromotionType(), chessPiece.color(), true);
+        if (colorToPromote != null && movedPiece.type() == ChessType.PAWN && colorToPromote == movedPiece.color()) {
+            chessPiece = new ChessPiece(provider.getPromotionType(), movedPiece.color(), true);
         } else {
-            chessPiece = new ChessPiece(chessPiece.type(), chessPiece.color(), true);
+            chessPiece = new ChessPiece(movedPiece.type(), movedPiece.color(), true);
         }
-        return chessBoard.getChessBoardWithChangedChessPiece(boundVector.origin(), null)
+        listener.pieceRemoved(boundVector.origin(), movedPiece);
+        if (capturedPiece != null) {
+            listener.pieceRemoved(boundVector.destination(), capturedPiece);
+        }
+        listener.pieceAdded(boundVector.destination(), chessPiece);
+        ChessBoard result = chessBoard.getChessBoardWithChangedChessPiece(boundVector.origin(), null)
                 .getChessBoardWithChangedChessPiece(boundVector.destination(), chessPiece)
                 .getChessBoardWithFlippedColor();
+        listener.colorFlipped(result.getCurrentColor());
+        RulesEngineMetrics.recordMoveApplication(start);
+        return result;
     }
 
     /**
@@ -53,4 +80,27 @@ public interface ChessDoer {
         }
         return new Position(position.charAt(0) - 'a', position.charAt(1) - '1');
     }
+
+    /**
+     * The method translates BoundVector object into String object, the reverse of getBoundVector
+     *
+     * @param boundVector BoundVector object representing move on the chessboard
+     * @return String object representing move on the chessboard
+     */
+    static String getMoveString(BoundVector boundVector) {
+        return getPositionString(boundVector.origin()) + getPositionString(boundVector.destination());
+    }
+
+    /**
+     * The method translates Position object into String object, the reverse of getPosition
+     *
+     * @param position Position object representing position on the chessboard
+     * @return String object representing position on the chessboard
+     */
+    static String getPositionString(Position position) {
+        if (position.x() < 0 || position.x() > 7 || position.y() < 0 || position.y() > 7) {
+            throw new IllegalArgumentException("No such position");
+        }
+        return "" + (char) ('a' + position.x()) + (char) ('1' + position.y());
+    }
 }
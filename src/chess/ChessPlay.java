@@ -1,17 +1,40 @@
 package chess;
 
+import chess.engine.ChessEngine;
+import chess.engine.Ponderer;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.events.BoardDelta;
+import chess.events.BoardObserver;
+import chess.events.DeltaRecorder;
+import chess.history.MoveHistory;
 import chess.navigation.BoundVector;
 import chess.enums.ChessPieceColor;
 import chess.enums.ChessType;
 import chess.enums.TheStateOfTheGame;
 import chess.validation.ChessArbiter;
+import chess.validation.LegalMoveCache;
 
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ChessPlay {
 
     ChessBoard chessBoard;
     TheStateOfTheGame stateOfTheGame;
+    MoveHistory history;
+
+    private final ChessPieceColor engineColor;
+    private final SearchLimits engineLimits;
+    private final ChessEngine engine;
+    private final Ponderer ponderer;
+    private final List<BoardObserver> observers = new CopyOnWriteArrayList<>();
+    private final DeltaRecorder recorder = new DeltaRecorder();
+    //one per game, so repeated attempts in the same position are answered without validating again
+    //and the chessboards of finished games are not kept alive
+    private final LegalMoveCache legalMoves = new LegalMoveCache(256);
+    private int sequence;
 
     /**
      * The ChessPlay constructor
@@ -19,6 +42,80 @@ public class ChessPlay {
     public ChessPlay() {
         this.chessBoard = ChessBoard.create();
         this.stateOfTheGame = TheStateOfTheGame.PLAYING;
+        this.history = new MoveHistory(chessBoard);
+        this.engineColor = null;
+        this.engineLimits = null;
+        this.engine = null;
+        this.ponderer = null;
+    }
+
+    /**
+     * The ChessPlay constructor for a game against the engine
+     *
+     * @param engineColor  color the engine plays
+     * @param engineLimits limits of the engine search for each move
+     * @param pondering    if true the engine searches on the opponent's time
+     */
+    public ChessPlay(ChessPieceColor engineColor, SearchLimits engineLimits, boolean pondering) {
+        this.chessBoard = ChessBoard.create();
+        this.stateOfTheGame = TheStateOfTheGame.PLAYING;
+        this.history = new MoveHistory(chessBoard);
+        this.engineColor = engineColor;
+        this.engineLimits = engineLimits;
+        this.engine = new ChessEngine();
+        this.ponderer = pondering ? new Ponderer() : null;
+    }
+
+    /**
+     * The method adds an observer notified about every change of the chessboard:
+     * moves, takebacks and moves made again
+     *
+     * @param observer observer to add
+     */
+    public void addObserver(BoardObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * The method removes an observer added before
+     *
+     * @param observer observer to remove
+     */
+    public void removeObserver(BoardObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * The method returns the whole current chessboard as a delta, for observers joining in the middle of a game
+     *
+     * @return delta putting every chesspiece on an empty chessboard
+     */
+    public BoardDelta snapshot() {
+        return BoardDelta.snapshot(sequence, chessBoard, stateOfTheGame);
+    }
+
+    /**
+     * The method passes a delta to every observer
+     *
+     * @param delta changes made to the chessboard
+     */
+    private void publish(BoardDelta delta) {
+        for (BoardObserver observer : observers) {
+            observer.boardChanged(delta);
+        }
+    }
+
+    /**
+     * The method publishes the changes between the chessboard before a takeback or a move made again
+     * and the current one, those do not go through ChessDoer move by move
+     *
+     * @param before chessboard before the change
+     */
+    private void publishChange(ChessBoard before) {
+        sequence++;
+        if (!observers.isEmpty()) {
+            publish(BoardDelta.between(sequence, before, chessBoard, stateOfTheGame));
+        }
     }
 
     /**
@@ -57,18 +154,82 @@ public class ChessPlay {
         };
     }
 
+    /**
+     * The method takes back the last move. In a game against the engine moves are taken back
+     * until it is the player's turn again.
+     *
+     * @return true if any move was taken back, otherwise false
+     */
+    public boolean takeBack() {
+        if (!history.canUndo()) {
+            return false;
+        }
+        if (ponderer != null) {
+            ponderer.cancel();
+        }
+        ChessBoard before = chessBoard;
+        chessBoard = history.undo();
+        while (chessBoard.getCurrentColor() == engineColor && history.canUndo()) {
+            chessBoard = history.undo();
+        }
+        stateOfTheGame = TheStateOfTheGame.PLAYING;
+        publishChange(before);
+        return true;
+    }
+
+    /**
+     * The method makes again the last move taken back. In a game against the engine moves are made again
+     * until it is the player's turn.
+     *
+     * @return true if any move was made again, otherwise false
+     */
+    public boolean redo() {
+        if (!history.canRedo()) {
+            return false;
+        }
+        if (ponderer != null) {
+            ponderer.cancel();
+        }
+        ChessBoard before = chessBoard;
+        chessBoard = history.redo();
+        while (chessBoard.getCurrentColor() == engineColor && history.canRedo()) {
+            chessBoard = history.redo();
+        }
+        //the move made again may have ended the game, observers get the state together with the change
+        updateStateOfTheGame();
+        publishChange(before);
+        return true;
+    }
+
+    /**
+     * The method sets the state of the game to checkmate or stalemate if the current player has no legal moves
+     */
+    private void updateStateOfTheGame() {
+        if (legalMoves.currentPlayerHasNoLegalMoves(chessBoard)) {
+            if (ChessArbiter.isCurrentKingInCheck(chessBoard)) {
+                stateOfTheGame = TheStateOfTheGame.CHECKMATE;
+            } else {
+                stateOfTheGame = TheStateOfTheGame.STALEMATE;
+            }
+        }
+    }
+
     /**
      * The method prompts a user to enter a correct chess move.
-     * The method prints error message if the move was incorrect
+     * The method prints error message if the move was incorrect.
+     * Instead of a move the user can enter "undo" to take back a move or "redo" to make it again.
      *
-     * @return correct chess move represented as a BoundVector
+     * @return correct chess move represented as a BoundVector or null if a move was taken back or made again
      */
     BoundVector getCorrectChessMove() {
         Scanner keyboard = new Scanner(System.in);
         String message = chessBoard.getCurrentColor() == ChessPieceColor.WHITE ? "Move whites: " : "Move blacks: ";
         System.out.print(message);
         String move = keyboard.nextLine();
-        while (!move.matches("([a-h][1-8]){2}") || !ChessArbiter.isStrictlyLegalMove(chessBoard, ChessDoer.getBoundVector(move))) {
+        while (!move.matches("([a-h][1-8]){2}") || !legalMoves.isStrictlyLegalMove(chessBoard, ChessDoer.getBoundVector(move))) {
+            if ((move.equals("undo") && takeBack()) || (move.equals("redo") && redo())) {
+                return null;
+            }
             System.out.println("Incorrect chess move!");
             System.out.print(message);
             move = keyboard.nextLine();
@@ -76,6 +237,26 @@ public class ChessPlay {
         return ChessDoer.getBoundVector(move);
     }
 
+    /**
+     * The method finds and makes the engine move. If the engine was pondering and the opponent
+     * played the expected reply, the result of the background search is used, otherwise a new search starts.
+     * Afterwards the engine starts pondering on the opponent's time.
+     *
+     * @return chessboard with the engine move made
+     */
+    private ChessBoard makeEngineMove() {
+        SearchResult result = ponderer == null ? null : ponderer.resolve(chessBoard, engineLimits);
+        if (result == null || result.bestMove() == null) {
+            result = engine.search(chessBoard, engineLimits);
+        }
+        System.out.println("Engine plays: " + ChessDoer.getMoveString(result.bestMove()));
+        ChessBoard next = history.makeMove(result.bestMove(), () -> ChessType.QUEEN, recorder);
+        if (ponderer != null) {
+            ponderer.start(next, result, engineLimits);
+        }
+        return next;
+    }
+
     /**
      * The method prompts a user to move either a white chesspiece or a black chesspiece.
      * It does so until either blacks or whites checkmate the enemy king or there is a stalemate
@@ -84,16 +265,27 @@ public class ChessPlay {
     public void playChess() {
         do {
             System.out.println(chessBoard);
-            BoundVector move = getCorrectChessMove();
-            chessBoard = ChessDoer.makeStandardChessMove(chessBoard, move, ChessPlay::makePawnPromotionMenu);
-            if (ChessArbiter.currentPlayerHasNoStrictlyLegalMoves(chessBoard)) {
-                if (ChessArbiter.isCurrentKingInCheck(chessBoard)) {
-                    stateOfTheGame = TheStateOfTheGame.CHECKMATE;
+            boolean moved = true;
+            if (chessBoard.getCurrentColor() == engineColor) {
+                chessBoard = makeEngineMove();
+            } else {
+                BoundVector move = getCorrectChessMove();
+                if (move != null) {
+                    chessBoard = history.makeMove(move, ChessPlay::makePawnPromotionMenu, recorder);
                 } else {
-                    stateOfTheGame = TheStateOfTheGame.STALEMATE;
+                    moved = false;
                 }
             }
+            updateStateOfTheGame();
+            if (moved) {
+                //the recorder is emptied even without observers, so it never carries changes over to the next move
+                BoardDelta delta = recorder.finish(++sequence, stateOfTheGame);
+                publish(delta);
+            }
         } while (stateOfTheGame == TheStateOfTheGame.PLAYING);
+        if (ponderer != null) {
+            ponderer.shutdown();
+        }
         String stalemateMessage = "There is stalemate. No one wins!";
         String player = chessBoard.getCurrentColor().oppositeColor() == ChessPieceColor.BLACK ? "Blacks" : "Whites";
         String victoryMessage = player + " win by checkmate!";
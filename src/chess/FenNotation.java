@@ -0,0 +1,162 @@
+package chess;
+
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.navigation.Position;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public interface FenNotation {
+
+    /**
+     * The method translates String object in Forsyth-Edwards Notation into ChessBoard object.
+     * Only piece placement and the color on the move are read, the remaining fields are ignored
+     * because this chessboard has no castling, en passant or move counters.
+     * Pawns standing outside of their initial row and other chesspieces standing outside of their
+     * initial position are marked as already moved.
+     *
+     * @param fen String object representing the chessboard, for example "8/8/8/4k3/8/8/4P3/4K3 w - - 0 1"
+     * @return ChessBoard object representing the chessboard
+     */
+    static ChessBoard getChessBoard(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 2 || !fields[1].matches("[wb]")) {
+            throw new IllegalArgumentException("No such position");
+        }
+        String[] rows = fields[0].split("/");
+        if (rows.length != 8) {
+            throw new IllegalArgumentException("No such position");
+        }
+        Map<Position, ChessPiece> chessPieces = new HashMap<>();
+        int whiteKings = 0;
+        int blackKings = 0;
+        for (int i = 0; i < rows.length; i++) {
+            int y = 7 - i;
+            int x = 0;
+            for (char character : rows[i].toCharArray()) {
+                if (character >= '1' && character <= '8') {
+                    x += character - '0';
+                    continue;
+                }
+                ChessType type = getChessType(character);
+                if (type == null || x > 7) {
+                    throw new IllegalArgumentException("No such position");
+                }
+                ChessPieceColor color = Character.isUpperCase(character) ? ChessPieceColor.WHITE : ChessPieceColor.BLACK;
+                Position position = new Position(x, y);
+                chessPieces.put(position, new ChessPiece(type, color, !isInitialPosition(type, color, position)));
+                if (type == ChessType.KING) {
+                    if (color == ChessPieceColor.WHITE) {
+                        whiteKings++;
+                    } else {
+                        blackKings++;
+                    }
+                }
+                x++;
+            }
+            if (x != 8) {
+                throw new IllegalArgumentException("No such position");
+            }
+        }
+        if (whiteKings != 1 || blackKings != 1) {
+            throw new IllegalArgumentException("There must be exactly one king of each color");
+        }
+        ChessPieceColor currentColor = fields[1].equals("w") ? ChessPieceColor.WHITE : ChessPieceColor.BLACK;
+        return ChessBoard.create(currentColor, chessPieces);
+    }
+
+    /**
+     * The method translates ChessBoard object into String object in Forsyth-Edwards Notation,
+     * castling and en passant fields are always empty and move counters are always "0 1"
+     *
+     * @param chessBoard ChessBoard object representing the chessboard
+     * @return String object representing the chessboard
+     */
+    static String getFen(ChessBoard chessBoard) {
+        StringBuilder builder = new StringBuilder();
+        for (int y = 7; y >= 0; y--) {
+            int empty = 0;
+            for (int x = 0; x < 8; x++) {
+                ChessPiece chessPiece = chessBoard.getElement(new Position(x, y)).piece();
+                if (chessPiece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    builder.append(empty);
+                    empty = 0;
+                }
+                builder.append(getCharacter(chessPiece));
+            }
+            if (empty > 0) {
+                builder.append(empty);
+            }
+            if (y > 0) {
+                builder.append('/');
+            }
+        }
+        builder
+                .append(chessBoard.getCurrentColor() == ChessPieceColor.WHITE ? " w" : " b")
+                .append(" - - 0 1");
+        return builder.toString();
+    }
+
+    /**
+     * The method translates a letter of Forsyth-Edwards Notation into chess type
+     *
+     * @param character letter, upper case for whites and lower case for blacks
+     * @return chess type or null if the letter means no chesspiece
+     */
+    private static ChessType getChessType(char character) {
+        return switch (Character.toLowerCase(character)) {
+            case 'p' -> ChessType.PAWN;
+            case 'r' -> ChessType.ROOK;
+            case 'n' -> ChessType.KNIGHT;
+            case 'b' -> ChessType.BISHOP;
+            case 'q' -> ChessType.QUEEN;
+            case 'k' -> ChessType.KING;
+            default -> null;
+        };
+    }
+
+    /**
+     * The method translates chesspiece into a letter of Forsyth-Edwards Notation
+     *
+     * @param chessPiece chesspiece to translate
+     * @return letter, upper case for whites and lower case for blacks
+     */
+    private static char getCharacter(ChessPiece chessPiece) {
+        char character = switch (chessPiece.type()) {
+            case PAWN -> 'p';
+            case ROOK -> 'r';
+            case KNIGHT -> 'n';
+            case BISHOP -> 'b';
+            case QUEEN -> 'q';
+            case KING -> 'k';
+        };
+        return chessPiece.color() == ChessPieceColor.WHITE ? Character.toUpperCase(character) : character;
+    }
+
+    /**
+     * The method checks whether a chesspiece of the given type and color stands where it stands at the start of the game
+     *
+     * @param type     type of the chesspiece
+     * @param color    color of the chesspiece
+     * @param position position of the chesspiece
+     * @return true if it is the initial position of such chesspiece, otherwise false
+     */
+    private static boolean isInitialPosition(ChessType type, ChessPieceColor color, Position position) {
+        int pieceRow = color == ChessPieceColor.WHITE ? 0 : 7;
+        int pawnRow = color == ChessPieceColor.WHITE ? 1 : 6;
+        return switch (type) {
+            case PAWN -> position.y() == pawnRow;
+            case ROOK -> position.y() == pieceRow && (position.x() == 0 || position.x() == 7);
+            case KNIGHT -> position.y() == pieceRow && (position.x() == 1 || position.x() == 6);
+            case BISHOP -> position.y() == pieceRow && (position.x() == 2 || position.x() == 5);
+            case QUEEN -> position.y() == pieceRow && position.x() == 3;
+            case KING -> position.y() == pieceRow && position.x() == 4;
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package chess.batch;
+
+import chess.ChessBoard;
+import chess.FenNotation;
+import chess.enums.TheStateOfTheGame;
+import chess.validation.ChessArbiter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+public class BatchAnalyzer {
+
+    private static final int CHUNK_SIZE = 512;
+    private static final long PROGRESS_INTERVAL_NANOS = 5_000_000_000L;
+
+    private final int threads;
+    private final PrintStream progress;
+
+    /**
+     * The BatchAnalyzer constructor
+     *
+     * @param threads  number of worker threads
+     * @param progress stream progress and throughput reports are printed to
+     */
+    public BatchAnalyzer(int threads, PrintStream progress) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive");
+        }
+        this.threads = threads;
+        this.progress = progress;
+    }
+
+    /**
+     * The method analyzes a single position. The result line holds the position,
+     * the number of legal moves, whether the king on the move is in check and the state of the game,
+     * separated by tabs. A position that cannot be read gives a line with the error instead.
+     *
+     * @param fen position in Forsyth-Edwards Notation
+     * @return result line
+     */
+    static String analyzePosition(String fen) {
+        ChessBoard chessBoard;
+        try {
+            chessBoard = FenNotation.getChessBoard(fen);
+        } catch (IllegalArgumentException e) {
+            return fen + "\terror\t" + e.getMessage();
+        }
+        //one move generation answers both the move count and whether the game has ended
+        int legalMoves = ChessArbiter.strictlyLegalMoves(chessBoard).length;
+        boolean inCheck = ChessArbiter.isCurrentKingInCheck(chessBoard);
+        TheStateOfTheGame state = TheStateOfTheGame.PLAYING;
+        if (legalMoves == 0) {
+            state = inCheck ? TheStateOfTheGame.CHECKMATE : TheStateOfTheGame.STALEMATE;
+        }
+        return fen + '\t' + legalMoves + '\t' + inCheck + '\t' + state;
+    }
+
+    /**
+     * The method analyzes a chunk of positions one after another. A position whose analysis fails
+     * gives a line with the error, like a position that cannot be read, and the rest of the batch goes on.
+     *
+     * @param chunk positions in Forsyth-Edwards Notation
+     * @return result lines in the same order
+     */
+    private static String[] analyzeChunk(List<String> chunk) {
+        String[] results = new String[chunk.size()];
+        for (int i = 0; i < results.length; i++) {
+            try {
+                results[i] = analyzePosition(chunk.get(i));
+            } catch (RuntimeException e) {
+                results[i] = chunk.get(i) + "\terror\t" + e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The method streams positions from the input file, one position in Forsyth-Edwards Notation per line,
+     * analyzes them on a work-stealing pool and writes the results to the output file in input order.
+     * Blank lines are skipped. Only a bounded number of chunks is in flight, so memory use does not depend
+     * on the size of the input.
+     *
+     * @param input  file with positions
+     * @param output file the results are written to
+     * @return number of analyzed positions
+     * @throws IOException if reading or writing fails
+     */
+    public long analyze(Path input, Path output) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        Deque<CompletableFuture<String[]>> inFlight = new ArrayDeque<>();
+        int maxInFlight = threads * 4;
+        long start = System.nanoTime();
+        long lastReport = start;
+        long done = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            boolean more = true;
+            while (more || !inFlight.isEmpty()) {
+                while (more && inFlight.size() < maxInFlight) {
+                    line = reader.readLine();
+                    if (line == null) {
+                        more = false;
+                    } else if (!line.isBlank()) {
+                        chunk.add(line.trim());
+                    }
+                    if (chunk.size() == CHUNK_SIZE || (!more && !chunk.isEmpty())) {
+                        List<String> submitted = chunk;
+                        inFlight.add(CompletableFuture.supplyAsync(() -> analyzeChunk(submitted), pool));
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                if (!inFlight.isEmpty()) {
+                    for (String result : inFlight.poll().join()) {
+                        writer.write(result);
+                        writer.newLine();
+                        done++;
+                    }
+                }
+                long now = System.nanoTime();
+                if (now - lastReport > PROGRESS_INTERVAL_NANOS) {
+                    lastReport = now;
+                    report("progress", done, now - start);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        report("finished", done, System.nanoTime() - start);
+        return done;
+    }
+
+    /**
+     * The method prints the number of analyzed positions and the throughput
+     *
+     * @param label   what kind of report it is
+     * @param done    number of analyzed positions
+     * @param elapsed time since the start in nanoseconds
+     */
+    private void report(String label, long done, long elapsed) {
+        double seconds = Math.max(elapsed, 1) / 1e9;
+        progress.printf("%s: %d positions in %.1f s, %.0f positions/s%n", label, done, seconds, done / seconds);
+    }
+}
@@ -0,0 +1,103 @@
+package chess.batch;
+
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.evaluation.PieceSquareTables;
+import chess.navigation.Position;
+
+public interface BatchEvaluator {
+
+    /**
+     * Centipawns for every pawn that can move forward, the mobility proxy of the evaluation
+     */
+    int PAWN_PUSH_WEIGHT = 4;
+
+    /**
+     * The method evaluates every chessboard of the batch from the whites' point of view.
+     * The score is material plus middlegame and endgame piece-square values blended by the phase of the game,
+     * the same as IncrementalEvaluator.evaluateForWhite without pawn structure, plus PAWN_PUSH_WEIGHT for every white pawn
+     * with an empty square in front of it and minus the same for every such black pawn.
+     *
+     * @param batch  chessboards to evaluate
+     * @param scores array the scores are written to, at least batch.size() long
+     */
+    void evaluate(BoardBatch batch, int[] scores);
+
+    /**
+     * The factory method returning the evaluator built on the Vector API if it was compiled from src-vector,
+     * the jdk.incubator.vector module is present in the running JVM and the CPU has vectors of at least 256 bits,
+     * otherwise the scalar one. The vector evaluator is loaded by name, so the main sources build without the module.
+     *
+     * @return the fastest available evaluator
+     */
+    static BatchEvaluator create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (BatchEvaluator) Class.forName("chess.batch.VectorBatchEvaluator")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                //not compiled, or the vectors of the CPU are too narrow, the scalar evaluator is used instead
+            }
+        }
+        return new ScalarBatchEvaluator();
+    }
+
+    /**
+     * The method returns middlegame values of every code on every square, indexed [square][code]
+     *
+     * @return middlegame table, zeros for empty squares
+     */
+    static int[][] middlegameTable() {
+        int[][] table = new int[64][BoardBatch.CODES];
+        for (int code = 1; code < BoardBatch.CODES; code++) {
+            ChessPiece chessPiece = piece(code);
+            int sign = chessPiece.color() == ChessPieceColor.WHITE ? 1 : -1;
+            for (int square = 0; square < 64; square++) {
+                table[square][code] = sign * PieceSquareTables.middlegameValue(chessPiece, new Position(square % 8, square / 8));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * The method returns endgame values of every code on every square, indexed [square][code]
+     *
+     * @return endgame table, zeros for empty squares
+     */
+    static int[][] endgameTable() {
+        int[][] table = new int[64][BoardBatch.CODES];
+        for (int code = 1; code < BoardBatch.CODES; code++) {
+            ChessPiece chessPiece = piece(code);
+            int sign = chessPiece.color() == ChessPieceColor.WHITE ? 1 : -1;
+            for (int square = 0; square < 64; square++) {
+                table[square][code] = sign * PieceSquareTables.endgameValue(chessPiece, new Position(square % 8, square / 8));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * The method returns phase weights of every code
+     *
+     * @return phase weights, zero for empty squares
+     */
+    static int[] phaseTable() {
+        int[] table = new int[BoardBatch.CODES];
+        for (int code = 1; code < BoardBatch.CODES; code++) {
+            table[code] = PieceSquareTables.phaseWeight(piece(code).type());
+        }
+        return table;
+    }
+
+    /**
+     * The method translates a code of BoardBatch into chesspiece
+     *
+     * @param code code between 1 and 12
+     * @return chesspiece with that code
+     */
+    private static ChessPiece piece(int code) {
+        ChessPieceColor color = code < 7 ? ChessPieceColor.WHITE : ChessPieceColor.BLACK;
+        return new ChessPiece(ChessType.values()[(code - 1) % 6], color, true);
+    }
+}
@@ -0,0 +1,121 @@
+package chess.batch;
+
+import chess.ChessBoard;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.navigation.Position;
+
+import java.util.Arrays;
+
+public class BoardBatch {
+
+    /**
+     * Code of an empty square, chesspieces are coded 1-6 for whites and 7-12 for blacks in the order of ChessType
+     */
+    public static final byte EMPTY = 0;
+
+    /**
+     * Number of different codes a square can hold
+     */
+    public static final int CODES = 13;
+
+    private final byte[][] squares = new byte[64][];
+    private final byte[] whiteToMove;
+    private final int capacity;
+    private int size;
+
+    /**
+     * The BoardBatch constructor. Chessboards are kept as parallel arrays, one array per square
+     * holding the code of that square for every chessboard of the batch, so the same square
+     * of consecutive chessboards lies next to each other in memory.
+     *
+     * @param capacity the highest number of chessboards the batch can hold
+     */
+    public BoardBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        for (int i = 0; i < squares.length; i++) {
+            squares[i] = new byte[capacity];
+        }
+        this.whiteToMove = new byte[capacity];
+        this.capacity = capacity;
+    }
+
+    /**
+     * The method returns code of the given chesspiece
+     *
+     * @param chessPiece chesspiece or null
+     * @return code of the chesspiece, EMPTY for null
+     */
+    public static byte code(ChessPiece chessPiece) {
+        if (chessPiece == null) {
+            return EMPTY;
+        }
+        int offset = chessPiece.color() == ChessPieceColor.WHITE ? 1 : 7;
+        return (byte) (offset + chessPiece.type().ordinal());
+    }
+
+    /**
+     * The method adds a chessboard at the end of the batch.
+     * Throws IllegalStateException if the batch is full.
+     *
+     * @param chessBoard chessboard to add
+     * @return index of the chessboard in the batch
+     */
+    public int add(ChessBoard chessBoard) {
+        if (size == capacity) {
+            throw new IllegalStateException("Batch is full");
+        }
+        for (int square = 0; square < 64; square++) {
+            squares[square][size] = code(chessBoard.getElement(new Position(square % 8, square / 8)).piece());
+        }
+        whiteToMove[size] = (byte) (chessBoard.getCurrentColor() == ChessPieceColor.WHITE ? 1 : 0);
+        return size++;
+    }
+
+    /**
+     * The method removes all the chessboards, so the batch can be filled again without allocating
+     */
+    public void clear() {
+        for (byte[] square : squares) {
+            Arrays.fill(square, 0, size, EMPTY);
+        }
+        size = 0;
+    }
+
+    /**
+     * @return number of chessboards in the batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the highest number of chessboards the batch can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * The method returns codes of the given square for all the chessboards of the batch.
+     * The array is not copied, it must not be modified.
+     *
+     * @param square index of the square, 0 for a1 and 63 for h8
+     * @return codes of the square, valid up to size()
+     */
+    byte[] square(int square) {
+        return squares[square];
+    }
+
+    /**
+     * The method checks whether whites are on the move on the given chessboard of the batch
+     *
+     * @param index index of the chessboard
+     * @return true if whites are on the move, otherwise false
+     */
+    public boolean isWhiteToMove(int index) {
+        return whiteToMove[index] == 1;
+    }
+}
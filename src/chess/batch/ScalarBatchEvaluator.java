@@ -0,0 +1,48 @@
+package chess.batch;
+
+import chess.evaluation.PieceSquareTables;
+
+public class ScalarBatchEvaluator implements BatchEvaluator {
+
+    private static final byte WHITE_PAWN = 1;
+    private static final byte BLACK_PAWN = 7;
+
+    private final int[][] middlegame = BatchEvaluator.middlegameTable();
+    private final int[][] endgame = BatchEvaluator.endgameTable();
+    private final int[] phase = BatchEvaluator.phaseTable();
+
+    @Override
+    public void evaluate(BoardBatch batch, int[] scores) {
+        evaluate(batch, scores, 0);
+    }
+
+    /**
+     * The method evaluates chessboards of the batch one by one, starting from the given index
+     *
+     * @param batch  chessboards to evaluate
+     * @param scores array the scores are written to
+     * @param from   index of the first chessboard to evaluate
+     */
+    void evaluate(BoardBatch batch, int[] scores, int from) {
+        for (int i = from; i < batch.size(); i++) {
+            int mg = 0;
+            int eg = 0;
+            int ph = 0;
+            int pushes = 0;
+            for (int square = 0; square < 64; square++) {
+                int code = batch.square(square)[i];
+                mg += middlegame[square][code];
+                eg += endgame[square][code];
+                ph += phase[code];
+                if (code == WHITE_PAWN && square < 56 && batch.square(square + 8)[i] == BoardBatch.EMPTY) {
+                    pushes++;
+                } else if (code == BLACK_PAWN && square >= 8 && batch.square(square - 8)[i] == BoardBatch.EMPTY) {
+                    pushes--;
+                }
+            }
+            ph = Math.min(ph, PieceSquareTables.MAX_PHASE);
+            scores[i] = (mg * ph + eg * (PieceSquareTables.MAX_PHASE - ph)) / PieceSquareTables.MAX_PHASE
+                    + pushes * PAWN_PUSH_WEIGHT;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.PromotionTypeProvider;
+import chess.element.ChessPiece;
+import chess.enums.ChessType;
+import chess.evaluation.IncrementalEvaluator;
+import chess.evaluation.StaticExchange;
+import chess.navigation.BoundVector;
+import chess.validation.ChessArbiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static chess.engine.SearchResult.MATE;
+import static chess.engine.SearchResult.MAX_PLY;
+
+public class ChessEngine {
+
+    private static final int INFINITY = 1000000;
+    private static final PromotionTypeProvider PROMOTION = () -> ChessType.QUEEN;
+
+    private final BoundVector[][] pvTable = new BoundVector[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    private volatile boolean stopped;
+    private volatile long externalDeadline = Long.MAX_VALUE;
+
+    private long deadline;
+    private IncrementalEvaluator evaluator;
+    private long maxNodes;
+    private long nodes;
+    private boolean aborted;
+    //depth 1 is searched to the end whatever the limits, so there is always a searched line for every root move
+    private boolean firstDepth;
+
+    /**
+     * The method searches the chessboard with iterative deepening alpha-beta search.
+     * Only fully searched depths count, so when the search gets stopped the result of the
+     * last completed depth is returned. Depth 1 is always completed, stops and limits
+     * take effect from depth 2 on. The method blocks until the search is over.
+     *
+     * @param chessBoard chessboard to search
+     * @param limits     limits the search must stay within
+     * @return result of the deepest completed iteration
+     */
+    public SearchResult search(ChessBoard chessBoard, SearchLimits limits) {
+        return analyze(chessBoard, 1, limits, lines -> {
+        }).get(0);
+    }
+
+    /**
+     * The method searches the chessboard once and keeps the given number of best root moves,
+     * each with its score and principal variation. After every completed depth the lines found so far
+     * are passed to the listener, so they can be shown before the search is over.
+     * Depth 1 is always completed for all the lines, stops and limits take effect from depth 2 on.
+     * The method blocks until the search is over.
+     *
+     * @param chessBoard chessboard to search
+     * @param multiPv    number of best lines to keep
+     * @param limits     limits the search must stay within
+     * @param listener   receives the lines of every completed depth, best line first
+     * @return lines of the deepest completed depth, best line first, never empty
+     */
+    public List<SearchResult> analyze(ChessBoard chessBoard, int multiPv, SearchLimits limits,
+                                      Consumer<List<SearchResult>> listener) {
+        if (multiPv < 1) {
+            throw new IllegalArgumentException("Number of lines must be positive");
+        }
+        try {
+            return iterativeDeepening(chessBoard, multiPv, limits, listener);
+        } finally {
+            stopped = false;
+            externalDeadline = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * The method runs searches of growing depth until the limits are reached
+     *
+     * @param chessBoard chessboard to search
+     * @param multiPv    number of best lines to keep
+     * @param limits     limits the search must stay within
+     * @param listener   receives the lines of every completed depth
+     * @return lines of the deepest completed depth
+     */
+    private List<SearchResult> iterativeDeepening(ChessBoard chessBoard, int multiPv, SearchLimits limits,
+                                                  Consumer<List<SearchResult>> listener) {
+        deadline = deadlineAfter(limits.maxMillis());
+        maxNodes = limits.maxNodes();
+        nodes = 0;
+        aborted = false;
+        evaluator = new IncrementalEvaluator(chessBoard);
+
+        BoundVector[] rootMoves = ChessArbiter.strictlyLegalMoves(chessBoard);
+        if (rootMoves.length == 0) {
+            int score = ChessArbiter.isCurrentKingInCheck(chessBoard) ? -MATE : 0;
+            return List.of(new SearchResult(null, score, List.of(), 0, 0));
+        }
+        orderMoves(chessBoard, rootMoves);
+        List<SearchResult> lines = List.of();
+        int wanted = Math.min(multiPv, rootMoves.length);
+        for (int depth = 1; depth <= Math.min(limits.maxDepth(), MAX_PLY); depth++) {
+            firstDepth = depth == 1;
+            List<SearchResult> found = searchRoot(rootMoves, wanted, depth);
+            if (aborted) {
+                break;
+            }
+            lines = found;
+            listener.accept(lines);
+            //the next depth searches the best lines of this one first
+            for (int i = 0; i < lines.size(); i++) {
+                BoundVector move = lines.get(i).bestMove();
+                for (int j = i; j < rootMoves.length; j++) {
+                    if (rootMoves[j].equals(move)) {
+                        System.arraycopy(rootMoves, i, rootMoves, i + 1, j - i);
+                        rootMoves[i] = move;
+                        break;
+                    }
+                }
+            }
+            if (lines.stream().allMatch(SearchResult::isMateScore)) {
+                break;
+            }
+        }
+        List<SearchResult> result = new ArrayList<>(lines.size());
+        for (SearchResult line : lines) {
+            result.add(new SearchResult(line.bestMove(), line.score(), line.principalVariation(), line.depth(), nodes));
+        }
+        return result;
+    }
+
+    /**
+     * The method searches every root move to the given depth and keeps the best ones.
+     * A root move has to beat the worst of the lines kept so far, so once enough lines are found
+     * the remaining moves are searched with a narrowed window just like in a single line search.
+     *
+     * @param rootMoves moves of the root chessboard
+     * @param wanted    number of lines to keep
+     * @param depth     depth of the search
+     * @return the best lines, best line first
+     */
+    private List<SearchResult> searchRoot(BoundVector[] rootMoves, int wanted, int depth) {
+        List<SearchResult> lines = new ArrayList<>(wanted + 1);
+        for (BoundVector move : rootMoves) {
+            int alpha = lines.size() < wanted ? -INFINITY : lines.get(lines.size() - 1).score();
+            evaluator.makeMove(move, PROMOTION);
+            int score = -negamax(depth - 1, -INFINITY, -alpha, 1);
+            evaluator.undoMove();
+            if (aborted) {
+                return lines;
+            }
+            if (score > alpha) {
+                List<BoundVector> pv = new ArrayList<>(pvLength[1]);
+                pv.add(move);
+                for (int i = 1; i < pvLength[1]; i++) {
+                    pv.add(pvTable[1][i]);
+                }
+                int index = 0;
+                while (index < lines.size() && lines.get(index).score() >= score) {
+                    index++;
+                }
+                lines.add(index, new SearchResult(move, score, pv, depth, nodes));
+                if (lines.size() > wanted) {
+                    lines.remove(wanted);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * The method stops the running search, it can be called from any thread.
+     * The search returns the result of the last completed depth, depth 1 is completed even after a stop.
+     * A stop requested while no search is running stops the next one as soon as it starts.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * The method sets the time the running search may still take, counting from now,
+     * on top of the limits it was started with. If no search is running the time limit applies to the next one.
+     * It can be called from any thread.
+     *
+     * @param millis time in milliseconds or SearchLimits.UNLIMITED
+     */
+    public void setTimeLimit(long millis) {
+        externalDeadline = deadlineAfter(millis);
+    }
+
+    /**
+     * The method returns the moment, as measured by System.nanoTime, the given time from now
+     *
+     * @param millis time in milliseconds or SearchLimits.UNLIMITED
+     * @return the moment the time runs out or Long.MAX_VALUE if there is no time limit
+     */
+    private static long deadlineAfter(long millis) {
+        return millis == SearchLimits.UNLIMITED ? Long.MAX_VALUE : System.nanoTime() + millis * 1000000L;
+    }
+
+    /**
+     * The method checks whether the search should be aborted, which happens when it was stopped
+     * or ran out of nodes or time, but never during depth 1
+     *
+     * @return true if the search should be aborted, otherwise false
+     */
+    private boolean shouldAbort() {
+        if (!aborted && !firstDepth && (stopped || nodes >= maxNodes || pastDeadline())) {
+            aborted = true;
+        }
+        return aborted;
+    }
+
+    /**
+     * The method checks whether either of the deadlines has passed
+     *
+     * @return true if the time is up, otherwise false
+     */
+    private boolean pastDeadline() {
+        if (deadline == Long.MAX_VALUE && externalDeadline == Long.MAX_VALUE) {
+            return false;
+        }
+        long now = System.nanoTime();
+        return now - Math.min(deadline, externalDeadline) > 0;
+    }
+
+    /**
+     * The method searches the current chessboard of the evaluator to the given depth
+     *
+     * @param depth remaining depth
+     * @param alpha lower bound of the score
+     * @param beta  upper bound of the score
+     * @param ply   distance from the root
+     * @return score of the chessboard from the point of view of the color on the move
+     */
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        pvLength[ply] = ply;
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiescence(alpha, beta, ply);
+        }
+        nodes++;
+        if (shouldAbort()) {
+            return 0;
+        }
+        ChessBoard chessBoard = evaluator.getChessBoard();
+        BoundVector[] moves = ChessArbiter.strictlyLegalMoves(chessBoard);
+        if (moves.length == 0) {
+            return ChessArbiter.isCurrentKingInCheck(chessBoard) ? -MATE + ply : 0;
+        }
+        orderMoves(chessBoard, moves);
+        for (BoundVector move : moves) {
+            evaluator.makeMove(move, PROMOTION);
+            int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            evaluator.undoMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                pvTable[ply][ply] = move;
+                System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+                pvLength[ply] = pvLength[ply + 1];
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * The method searches only captures that do not lose material, until the chessboard is quiet
+     *
+     * @param alpha lower bound of the score
+     * @param beta  upper bound of the score
+     * @param ply   distance from the root
+     * @return score of the chessboard from the point of view of the color on the move
+     */
+    private int quiescence(int alpha, int beta, int ply) {
+        pvLength[ply] = ply;
+        nodes++;
+        if (shouldAbort()) {
+            return 0;
+        }
+        int standPat = evaluator.evaluate();
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat;
+        }
+        alpha = Math.max(alpha, standPat);
+        ChessBoard chessBoard = evaluator.getChessBoard();
+        BoundVector[] moves = ChessArbiter.strictlyLegalMoves(chessBoard);
+        orderMoves(chessBoard, moves);
+        for (BoundVector move : moves) {
+            if (chessBoard.getElement(move.destination()).piece() == null) {
+                break;
+            }
+            if (StaticExchange.evaluate(chessBoard, move) < 0) {
+                continue;
+            }
+            evaluator.makeMove(move, PROMOTION);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            evaluator.undoMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * The method sorts moves so that captures go first, from the most valuable victim
+     * and the least valuable attacker, then quiet moves
+     *
+     * @param chessBoard chessboard the moves are made on
+     * @param moves      moves to sort in place
+     */
+    private static void orderMoves(ChessBoard chessBoard, BoundVector[] moves) {
+        int[] keys = new int[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            ChessPiece victim = chessBoard.getElement(moves[i].destination()).piece();
+            if (victim != null) {
+                ChessPiece attacker = chessBoard.getElement(moves[i].origin()).piece();
+                keys[i] = 1000000 + 100 * StaticExchange.exchangeValue(victim.type())
+                        - StaticExchange.exchangeValue(attacker.type()) / 100;
+            }
+        }
+        for (int i = 1; i < moves.length; i++) {
+            BoundVector move = moves[i];
+            int key = keys[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] < key) {
+                moves[j + 1] = moves[j];
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            keys[j + 1] = key;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package chess.engine;
+
+import chess.ChessDoer;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+
+import java.util.List;
+
+public record MateSolution(int moves, List<KeyMove> keyMoves, boolean complete, long nodes) {
+
+    /**
+     * First move of a solution. Promotion is null unless the move promotes a pawn,
+     * since a puzzle may need promotion to something else than a queen.
+     */
+    public record KeyMove(BoundVector move, ChessType promotion) {
+
+        @Override
+        public String toString() {
+            String move = ChessDoer.getMoveString(this.move);
+            return promotion == null ? move : move + promotion.name().toLowerCase().charAt(promotion == ChessType.KNIGHT ? 1 : 0);
+        }
+    }
+
+    public MateSolution {
+        if (moves < 1) {
+            throw new IllegalArgumentException("Number of moves must be positive");
+        }
+        keyMoves = List.copyOf(keyMoves);
+    }
+
+    /**
+     * The method checks whether the puzzle is sound: it has a mate in the given number of moves
+     * and only a single key move leads to it
+     *
+     * @return true if the solution is complete and unique, otherwise false
+     */
+    public boolean isUnique() {
+        return complete && keyMoves.size() == 1;
+    }
+}
@@ -0,0 +1,214 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.validation.ChessArbiter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MateSolver {
+
+    private static final int INFINITY = 1 << 28;
+    private static final double EPSILON = 0.25;
+    private static final ChessType[] PROMOTIONS = {ChessType.QUEEN, ChessType.KNIGHT, ChessType.ROOK, ChessType.BISHOP};
+    private static final long[] UNKNOWN = {1, 1};
+
+    /**
+     * Key of the transposition table. ChessBoard equality does not take the color on the move into account,
+     * so it is added here, and a position is only the same node with the same number of plies left.
+     */
+    private record NodeKey(ChessBoard chessBoard, ChessPieceColor currentColor, int remaining) {
+    }
+
+    /**
+     * Child of a node: the move leading to it and the chessboard after the move
+     */
+    private record Child(MateSolution.KeyMove move, ChessBoard chessBoard, NodeKey key) {
+    }
+
+    private final long maxNodes;
+    private final Map<NodeKey, long[]> table = new HashMap<>();
+    private ChessPieceColor attacker;
+    private long nodes;
+
+    /**
+     * The MateSolver constructor
+     *
+     * @param maxNodes the highest number of nodes a single puzzle may expand before the solver gives up
+     */
+    public MateSolver(long maxNodes) {
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("Number of nodes must be positive");
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * The method finds every first move of the color on the move that forces checkmate in at most the given
+     * number of moves, whatever the opponent replies. Every root move is proven or disproven separately with
+     * depth-first proof-number search, sharing one transposition table, so all the key moves are found.
+     * When the node limit is reached before every root move is decided, the solution is marked as incomplete.
+     *
+     * @param chessBoard chessboard of the puzzle
+     * @param moves      number of moves of the color on the move, mate in N
+     * @return key moves of the puzzle, empty if there is no mate in N
+     */
+    public MateSolution solve(ChessBoard chessBoard, int moves) {
+        if (moves < 1 || moves > SearchResult.MAX_PLY / 2) {
+            throw new IllegalArgumentException("Number of moves must be between 1 and " + SearchResult.MAX_PLY / 2);
+        }
+        table.clear();
+        nodes = 0;
+        attacker = chessBoard.getCurrentColor();
+        List<MateSolution.KeyMove> keyMoves = new ArrayList<>();
+        boolean complete = true;
+        for (Child child : expand(chessBoard, 2 * moves - 1)) {
+            if (lookup(child.key())[0] != 0 && lookup(child.key())[1] != 0) {
+                search(child.chessBoard(), child.key(), INFINITY, INFINITY);
+            }
+            long[] entry = lookup(child.key());
+            if (entry[0] == 0) {
+                keyMoves.add(child.move());
+            } else if (entry[1] != 0) {
+                complete = false;
+            }
+        }
+        return new MateSolution(moves, keyMoves, complete, nodes);
+    }
+
+    /**
+     * The method searches a node until its proof number reaches the proof threshold or its disproof number
+     * reaches the disproof threshold, then stores both numbers in the transposition table.
+     * At nodes of the attacker the proof number is the lowest proof number of the children and the disproof
+     * number their sum, at nodes of the defender the other way round.
+     *
+     * @param chessBoard    chessboard of the node
+     * @param key           key of the node
+     * @param proofLimit    proof threshold
+     * @param disproofLimit disproof threshold
+     */
+    private void search(ChessBoard chessBoard, NodeKey key, long proofLimit, long disproofLimit) {
+        nodes++;
+        boolean attacking = key.currentColor() == attacker;
+        List<Child> children = expand(chessBoard, key.remaining());
+        if (children.isEmpty()) {
+            boolean mated = !attacking && ChessArbiter.isCurrentKingInCheck(chessBoard);
+            table.put(key, mated ? new long[]{0, INFINITY} : new long[]{INFINITY, 0});
+            return;
+        }
+        while (true) {
+            long minimum = INFINITY;
+            long second = INFINITY;
+            long sum = 0;
+            int best = 0;
+            for (int i = 0; i < children.size(); i++) {
+                long[] entry = lookup(children.get(i).key());
+                //the number that gets minimized: proof at nodes of the attacker, disproof at nodes of the defender
+                long selected = attacking ? entry[0] : entry[1];
+                long summed = attacking ? entry[1] : entry[0];
+                if (selected < minimum) {
+                    second = minimum;
+                    minimum = selected;
+                    best = i;
+                } else if (selected < second) {
+                    second = selected;
+                }
+                sum = Math.min(sum + summed, INFINITY);
+            }
+            long proof = attacking ? minimum : sum;
+            long disproof = attacking ? sum : minimum;
+            if (proof >= proofLimit || disproof >= disproofLimit || nodes >= maxNodes) {
+                table.put(key, new long[]{proof, disproof});
+                return;
+            }
+            Child child = children.get(best);
+            long[] entry = lookup(child.key());
+            if (attacking) {
+                search(child.chessBoard(), child.key(), Math.min(proofLimit, widen(second)), disproofLimit - disproof + entry[1]);
+            } else {
+                search(child.chessBoard(), child.key(), proofLimit - proof + entry[0], Math.min(disproofLimit, widen(second)));
+            }
+        }
+    }
+
+    /**
+     * The method returns threshold of the best child from the number of the second best one.
+     * Letting the best child run a little past the second one avoids switching back and forth between
+     * children of nearly equal numbers, every switch costing a new expansion of both.
+     *
+     * @param second number of the second best child
+     * @return threshold of the best child
+     */
+    private static long widen(long second) {
+        return Math.min(Math.max(second + 1, (long) Math.ceil(second * (1 + EPSILON))), INFINITY);
+    }
+
+    /**
+     * The method generates children of a node. Moves of the attacker that give check come first,
+     * and with a single ply left only they are generated, since no other move can checkmate.
+     * Children whose outcome is already known, the positions after the last move of the attacker,
+     * are decided right away and stored in the transposition table.
+     *
+     * @param chessBoard chessboard of the node
+     * @param remaining  number of plies left
+     * @return children of the node
+     */
+    private List<Child> expand(ChessBoard chessBoard, int remaining) {
+        boolean attacking = chessBoard.getCurrentColor() == attacker;
+        List<Child> checks = new ArrayList<>();
+        List<Child> quiet = new ArrayList<>();
+        for (BoundVector boundVector : ChessArbiter.strictlyLegalMoves(chessBoard)) {
+            for (ChessType promotion : promotions(chessBoard, boundVector)) {
+                ChessBoard next = ChessDoer.makeStandardChessMove(chessBoard, boundVector, () -> promotion);
+                NodeKey key = new NodeKey(next, next.getCurrentColor(), remaining - 1);
+                Child child = new Child(new MateSolution.KeyMove(boundVector, promotion), next, key);
+                if (!attacking) {
+                    quiet.add(child);
+                } else if (ChessArbiter.isCurrentKingInCheck(next)) {
+                    if (remaining == 1 && !table.containsKey(key)) {
+                        boolean mate = ChessArbiter.currentPlayerHasNoStrictlyLegalMoves(next);
+                        table.put(key, mate ? new long[]{0, INFINITY} : new long[]{INFINITY, 0});
+                    }
+                    checks.add(child);
+                } else if (remaining > 1) {
+                    quiet.add(child);
+                }
+            }
+        }
+        checks.addAll(quiet);
+        return checks;
+    }
+
+    /**
+     * The method returns the types a pawn may get promoted to by the move, or a single null for other moves
+     *
+     * @param chessBoard  current chessboard
+     * @param boundVector the move
+     * @return possible promotions
+     */
+    private static ChessType[] promotions(ChessBoard chessBoard, BoundVector boundVector) {
+        ChessPiece chessPiece = chessBoard.getElement(boundVector.origin()).piece();
+        int y = boundVector.destination().y();
+        if (chessPiece.type() == ChessType.PAWN && (y == 0 || y == 7)) {
+            return PROMOTIONS;
+        }
+        return new ChessType[]{null};
+    }
+
+    /**
+     * The method returns proof and disproof numbers of a node, both 1 if it has not been searched yet
+     *
+     * @param key key of the node
+     * @return proof and disproof number
+     */
+    private long[] lookup(NodeKey key) {
+        return table.getOrDefault(key, UNKNOWN);
+    }
+}
@@ -0,0 +1,109 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.enums.ChessType;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class Ponderer {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chess-ponder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ChessEngine engine;
+    private ChessBoard expectedChessBoard;
+    private Future<SearchResult> pending;
+
+    /**
+     * The method starts searching in the background the chessboard that arises when the opponent
+     * plays the reply expected by the last search. If the last search does not expect any reply
+     * nothing is started.
+     *
+     * @param chessBoard chessboard after the engine move, with the opponent on the move
+     * @param lastResult result of the search that found the engine move
+     * @param limits     limits of the search, the time limit starts counting only on a ponder hit
+     * @return true if pondering started, otherwise false
+     */
+    public boolean start(ChessBoard chessBoard, SearchResult lastResult, SearchLimits limits) {
+        cancel();
+        if (lastResult.expectedReply() == null) {
+            return false;
+        }
+        expectedChessBoard = ChessDoer.makeStandardChessMove(chessBoard, lastResult.expectedReply(), () -> ChessType.QUEEN);
+        ChessBoard toSearch = expectedChessBoard;
+        SearchLimits ponderLimits = limits.withoutTimeLimit();
+        //every background search gets its own engine so that a late stop cannot leak into the next one
+        ChessEngine ponderEngine = new ChessEngine();
+        engine = ponderEngine;
+        pending = executor.submit(() -> ponderEngine.search(toSearch, ponderLimits));
+        return true;
+    }
+
+    /**
+     * The method ends pondering once the opponent has moved. On a ponder hit the background search
+     * keeps everything it has found so far and continues for the time given by the limits,
+     * then its result is returned. On a miss the background search is cancelled.
+     *
+     * @param chessBoard chessboard after the opponent's actual move
+     * @param limits     limits of the search for the engine move
+     * @return result of the background search on a ponder hit, null on a miss or if there was no pondering
+     */
+    public SearchResult resolve(ChessBoard chessBoard, SearchLimits limits) {
+        if (pending == null) {
+            return null;
+        }
+        if (!chessBoard.equals(expectedChessBoard) || chessBoard.getCurrentColor() != expectedChessBoard.getCurrentColor()) {
+            cancel();
+            return null;
+        }
+        engine.setTimeLimit(limits.maxMillis());
+        SearchResult result = await();
+        pending = null;
+        expectedChessBoard = null;
+        return result;
+    }
+
+    /**
+     * The method stops the background search, if there is any, and waits until it is over
+     */
+    public void cancel() {
+        if (pending != null) {
+            engine.stop();
+            await();
+            pending = null;
+            expectedChessBoard = null;
+        }
+    }
+
+    /**
+     * The method cancels pondering and releases the background thread
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdown();
+    }
+
+    /**
+     * The method waits for the background search to finish
+     *
+     * @return result of the background search
+     */
+    private SearchResult await() {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            engine.stop();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pondering failed", e.getCause());
+        }
+    }
+}
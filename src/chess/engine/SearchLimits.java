@@ -0,0 +1,50 @@
+package chess.engine;
+
+public record SearchLimits(int maxDepth, long maxNodes, long maxMillis) {
+
+    /**
+     * Value of maxNodes or maxMillis meaning there is no such limit
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    public SearchLimits {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximal depth must be positive");
+        }
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("Maximal number of nodes must be positive");
+        }
+        if (maxMillis < 1) {
+            throw new IllegalArgumentException("Maximal time must be positive");
+        }
+    }
+
+    /**
+     * The factory method creating limits that stop the search only at the given depth
+     *
+     * @param maxDepth depth the search stops at
+     * @return new SearchLimits object
+     */
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * The factory method creating limits that stop the search after the given time
+     *
+     * @param maxMillis time in milliseconds the search may take
+     * @return new SearchLimits object
+     */
+    public static SearchLimits millis(long maxMillis) {
+        return new SearchLimits(SearchResult.MAX_PLY, UNLIMITED, maxMillis);
+    }
+
+    /**
+     * The method returns limits almost like these ones except without the time limit
+     *
+     * @return limits without the time limit
+     */
+    public SearchLimits withoutTimeLimit() {
+        return new SearchLimits(maxDepth, maxNodes, UNLIMITED);
+    }
+}
@@ -0,0 +1,40 @@
+package chess.engine;
+
+import chess.navigation.BoundVector;
+
+import java.util.List;
+
+public record SearchResult(BoundVector bestMove, int score, List<BoundVector> principalVariation, int depth, long nodes) {
+
+    /**
+     * Score of the position where the side on the move gets checkmated right now
+     */
+    public static final int MATE = 100000;
+
+    /**
+     * The deepest ply the search can reach
+     */
+    public static final int MAX_PLY = 64;
+
+    public SearchResult {
+        principalVariation = List.copyOf(principalVariation);
+    }
+
+    /**
+     * The method checks whether the score means a forced checkmate for one of the sides
+     *
+     * @return true if the score is a mate score, otherwise false
+     */
+    public boolean isMateScore() {
+        return Math.abs(score) >= MATE - MAX_PLY;
+    }
+
+    /**
+     * The method returns the reply of the opponent the search expects after the best move
+     *
+     * @return expected reply or null if the principal variation is too short
+     */
+    public BoundVector expectedReply() {
+        return principalVariation.size() > 1 ? principalVariation.get(1) : null;
+    }
+}
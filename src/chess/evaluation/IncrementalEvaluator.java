@@ -0,0 +1,186 @@
+package chess.evaluation;
+
+import chess.BoardChangeListener;
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.PromotionTypeProvider;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.navigation.Position;
+
+import java.util.Arrays;
+
+public class IncrementalEvaluator {
+
+    private final BoardChangeListener tracker = new BoardChangeListener() {
+        @Override
+        public void pieceRemoved(Position where, ChessPiece chessPiece) {
+            update(where, chessPiece, -1);
+        }
+
+        @Override
+        public void pieceAdded(Position where, ChessPiece chessPiece) {
+            update(where, chessPiece, 1);
+        }
+    };
+
+    private final PawnHashTable pawnTable = PawnHashTable.forCurrentThread();
+    private ChessBoard[] boards = new ChessBoard[64];
+    private int[] totals = new int[64 * 5];
+    private long[] pawnStack = new long[64 * 2];
+    private int ply;
+
+    private int middlegame;
+    private int endgame;
+    private int phase;
+    private long whitePawns;
+    private long blackPawns;
+    private int whiteKing;
+    private int blackKing;
+
+    /**
+     * The IncrementalEvaluator constructor. This is the only place where the whole chessboard is scanned,
+     * every later change of the totals and of the pawn bitboards comes from moves made through this object.
+     * Pawn structures are cached in the pawn hash table of the thread creating the evaluator,
+     * so the evaluator must be used by that thread only.
+     *
+     * @param chessBoard chessboard the evaluation starts from
+     */
+    public IncrementalEvaluator(ChessBoard chessBoard) {
+        for (Position position : chessBoard.getAllValidPositions()) {
+            ChessPiece chessPiece = chessBoard.getElement(position).piece();
+            if (chessPiece != null) {
+                update(position, chessPiece, 1);
+            }
+        }
+        boards[0] = chessBoard;
+    }
+
+    /**
+     * The method adds or subtracts value of the chesspiece to the running totals
+     * and keeps bitboards of the pawns and squares of the kings up to date
+     *
+     * @param where      position of the chesspiece
+     * @param chessPiece chesspiece being added or removed
+     * @param sign       1 if the chesspiece is added, -1 if it is removed
+     */
+    private void update(Position where, ChessPiece chessPiece, int sign) {
+        int side = chessPiece.color() == ChessPieceColor.WHITE ? sign : -sign;
+        middlegame += side * PieceSquareTables.middlegameValue(chessPiece, where);
+        endgame += side * PieceSquareTables.endgameValue(chessPiece, where);
+        phase += sign * PieceSquareTables.phaseWeight(chessPiece.type());
+        int square = where.y() * 8 + where.x();
+        boolean white = chessPiece.color() == ChessPieceColor.WHITE;
+        if (chessPiece.type() == ChessType.PAWN) {
+            //a pawn is removed from and added to a square only when it is there and not there respectively
+            if (white) {
+                whitePawns ^= 1L << square;
+            } else {
+                blackPawns ^= 1L << square;
+            }
+        } else if (chessPiece.type() == ChessType.KING && sign > 0) {
+            if (white) {
+                whiteKing = square;
+            } else {
+                blackKing = square;
+            }
+        }
+    }
+
+    /**
+     * Getter method for the chessboard in its current state
+     *
+     * @return current chessboard
+     */
+    public ChessBoard getChessBoard() {
+        return boards[ply];
+    }
+
+    /**
+     * Getter method for the number of moves made and not undone yet
+     *
+     * @return number of moves on the stack
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * The method makes a move on the current chessboard and updates the running totals
+     * by the values of the chesspieces the move removed and added
+     *
+     * @param boundVector represents the move
+     * @param provider    represents a way to handle pawn promotion
+     * @return chessboard with the move made
+     */
+    public ChessBoard makeMove(BoundVector boundVector, PromotionTypeProvider provider) {
+        if (ply + 1 == boards.length) {
+            boards = Arrays.copyOf(boards, boards.length * 2);
+            totals = Arrays.copyOf(totals, totals.length * 2);
+            pawnStack = Arrays.copyOf(pawnStack, pawnStack.length * 2);
+        }
+        totals[ply * 5] = middlegame;
+        totals[ply * 5 + 1] = endgame;
+        totals[ply * 5 + 2] = phase;
+        totals[ply * 5 + 3] = whiteKing;
+        totals[ply * 5 + 4] = blackKing;
+        pawnStack[ply * 2] = whitePawns;
+        pawnStack[ply * 2 + 1] = blackPawns;
+        ChessBoard next = ChessDoer.makeStandardChessMove(boards[ply], boundVector, provider, tracker);
+        ply++;
+        boards[ply] = next;
+        return next;
+    }
+
+    /**
+     * The method takes back the last move made through this object and restores the totals from before it.
+     * Throws IllegalStateException if there is no move to undo.
+     *
+     * @return chessboard from before the last move
+     */
+    public ChessBoard undoMove() {
+        if (ply == 0) {
+            throw new IllegalStateException("No move to undo");
+        }
+        boards[ply] = null;
+        ply--;
+        middlegame = totals[ply * 5];
+        endgame = totals[ply * 5 + 1];
+        phase = totals[ply * 5 + 2];
+        whiteKing = totals[ply * 5 + 3];
+        blackKing = totals[ply * 5 + 4];
+        whitePawns = pawnStack[ply * 2];
+        blackPawns = pawnStack[ply * 2 + 1];
+        return boards[ply];
+    }
+
+    /**
+     * The method returns evaluation of the current chessboard from the whites' point of view.
+     * Pawn structure comes from the pawn hash table and is recomputed only when the pawns have changed,
+     * pawn shields are added to the middlegame. Middlegame and endgame totals are blended by the phase of the game.
+     *
+     * @return evaluation in centipawns, positive if whites stand better
+     */
+    public int evaluateForWhite() {
+        long pawns = pawnTable.probe(whitePawns, blackPawns);
+        int currentMiddlegame = middlegame + PawnStructure.middlegame(pawns)
+                + PawnStructure.shield(whitePawns, whiteKing, ChessPieceColor.WHITE)
+                - PawnStructure.shield(blackPawns, blackKing, ChessPieceColor.BLACK);
+        int currentEndgame = endgame + PawnStructure.endgame(pawns);
+        int currentPhase = Math.min(phase, PieceSquareTables.MAX_PHASE);
+        return (currentMiddlegame * currentPhase + currentEndgame * (PieceSquareTables.MAX_PHASE - currentPhase))
+                / PieceSquareTables.MAX_PHASE;
+    }
+
+    /**
+     * The method returns evaluation of the current chessboard from the point of view of the color on the move
+     *
+     * @return evaluation in centipawns, positive if the color on the move stands better
+     */
+    public int evaluate() {
+        int score = evaluateForWhite();
+        return getChessBoard().getCurrentColor() == ChessPieceColor.WHITE ? score : -score;
+    }
+}
@@ -0,0 +1,86 @@
+package chess.evaluation;
+
+import java.util.Arrays;
+
+public class PawnHashTable {
+
+    /**
+     * Number of entries of the table of every thread
+     */
+    public static final int DEFAULT_SIZE = 8192;
+
+    private static final ThreadLocal<PawnHashTable> TABLES = ThreadLocal.withInitial(() -> new PawnHashTable(DEFAULT_SIZE));
+
+    private final long[] whiteKeys;
+    private final long[] blackKeys;
+    private final long[] scores;
+    private final int mask;
+    private long hits;
+    private long misses;
+
+    /**
+     * The PawnHashTable constructor. The table never grows, a new pawn structure replaces whatever
+     * was stored in its slot. The table is not thread safe, every thread should use its own.
+     *
+     * @param size number of entries, a power of two
+     */
+    public PawnHashTable(int size) {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Size must be a power of two");
+        }
+        this.whiteKeys = new long[size];
+        this.blackKeys = new long[size];
+        this.scores = new long[size];
+        this.mask = size - 1;
+        //no position has pawns on a1 of both colors, so the first lookup of every slot misses
+        Arrays.fill(whiteKeys, 1);
+        Arrays.fill(blackKeys, 1);
+    }
+
+    /**
+     * The method returns the table of the calling thread
+     *
+     * @return pawn hash table owned by the current thread
+     */
+    public static PawnHashTable forCurrentThread() {
+        return TABLES.get();
+    }
+
+    /**
+     * The method returns score of PawnStructure.evaluate for the pawn bitboards,
+     * computing it only if the structure is not in the table
+     *
+     * @param whitePawns bitboard of white pawns
+     * @param blackPawns bitboard of black pawns
+     * @return packed middlegame and endgame score from the whites' point of view
+     */
+    public long probe(long whitePawns, long blackPawns) {
+        long hash = whitePawns * 0x9E3779B97F4A7C15L + blackPawns;
+        hash = (hash ^ hash >>> 33) * 0xFF51AFD7ED558CCDL;
+        int index = (int) (hash ^ hash >>> 33) & mask;
+        if (whiteKeys[index] == whitePawns && blackKeys[index] == blackPawns) {
+            hits++;
+            return scores[index];
+        }
+        misses++;
+        long score = PawnStructure.evaluate(whitePawns, blackPawns);
+        whiteKeys[index] = whitePawns;
+        blackKeys[index] = blackPawns;
+        scores[index] = score;
+        return score;
+    }
+
+    /**
+     * @return number of lookups answered from the table
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of lookups that had to compute the pawn structure
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,139 @@
+package chess.evaluation;
+
+import chess.enums.ChessPieceColor;
+
+/**
+ * Pawn-structure terms computed from pawn bitboards, where bit y * 8 + x is set
+ * when a pawn stands at position (x, y), bit 0 being a1 and bit 63 h8.
+ */
+public final class PawnStructure {
+
+    private static final int DOUBLED_MIDDLEGAME = -10;
+    private static final int DOUBLED_ENDGAME = -25;
+    private static final int ISOLATED_MIDDLEGAME = -5;
+    private static final int ISOLATED_ENDGAME = -15;
+    private static final int[] PASSED_MIDDLEGAME = {0, 5, 10, 15, 25, 45, 70, 0};
+    private static final int[] PASSED_ENDGAME = {0, 10, 20, 35, 60, 100, 150, 0};
+    private static final int SHIELD_CLOSE = 10;
+    private static final int SHIELD_FAR = 5;
+
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    private static final long[][] PASSED_SPANS = new long[2][64];
+
+    static {
+        for (int x = 0; x < 8; x++) {
+            FILES[x] = 0x0101010101010101L << x;
+        }
+        for (int x = 0; x < 8; x++) {
+            ADJACENT_FILES[x] = (x > 0 ? FILES[x - 1] : 0) | (x < 7 ? FILES[x + 1] : 0);
+        }
+        for (int square = 0; square < 64; square++) {
+            long span = FILES[square % 8] | ADJACENT_FILES[square % 8];
+            int y = square / 8;
+            //squares in front of the pawn on its own and adjacent files
+            PASSED_SPANS[0][square] = y == 7 ? 0 : span & (-1L << (y + 1) * 8);
+            PASSED_SPANS[1][square] = y == 0 ? 0 : span & (-1L >>> (8 - y) * 8);
+        }
+    }
+
+    private PawnStructure() {
+    }
+
+    /**
+     * The method evaluates doubled, isolated and passed pawns of both colors. The result depends
+     * on the pawn bitboards only, so it can be cached by them.
+     *
+     * @param whitePawns bitboard of white pawns
+     * @param blackPawns bitboard of black pawns
+     * @return middlegame score in the upper 32 bits and endgame score in the lower 32 bits,
+     * from the whites' point of view, see middlegame and endgame
+     */
+    public static long evaluate(long whitePawns, long blackPawns) {
+        int middlegame = 0;
+        int endgame = 0;
+        for (int color = 0; color < 2; color++) {
+            long own = color == 0 ? whitePawns : blackPawns;
+            long enemy = color == 0 ? blackPawns : whitePawns;
+            int sign = color == 0 ? 1 : -1;
+            for (int x = 0; x < 8; x++) {
+                int onFile = Long.bitCount(own & FILES[x]);
+                if (onFile > 1) {
+                    middlegame += sign * (onFile - 1) * DOUBLED_MIDDLEGAME;
+                    endgame += sign * (onFile - 1) * DOUBLED_ENDGAME;
+                }
+                if (onFile > 0 && (own & ADJACENT_FILES[x]) == 0) {
+                    middlegame += sign * onFile * ISOLATED_MIDDLEGAME;
+                    endgame += sign * onFile * ISOLATED_ENDGAME;
+                }
+            }
+            for (long pawns = own; pawns != 0; pawns &= pawns - 1) {
+                int square = Long.numberOfTrailingZeros(pawns);
+                if ((PASSED_SPANS[color][square] & enemy) == 0) {
+                    int rank = color == 0 ? square / 8 : 7 - square / 8;
+                    middlegame += sign * PASSED_MIDDLEGAME[rank];
+                    endgame += sign * PASSED_ENDGAME[rank];
+                }
+            }
+        }
+        return pack(middlegame, endgame);
+    }
+
+    /**
+     * The method evaluates pawns standing in front of a king on its own and adjacent files,
+     * one and two ranks ahead. It depends on the king too, so it is not part of the cached score.
+     * The shield only counts while the king stays on its first two ranks.
+     *
+     * @param pawns      bitboard of pawns of the king's color
+     * @param kingSquare index of the king's square
+     * @param color      color of the king
+     * @return middlegame bonus from the point of view of the king's color
+     */
+    public static int shield(long pawns, int kingSquare, ChessPieceColor color) {
+        int x = kingSquare % 8;
+        int rank = color == ChessPieceColor.WHITE ? kingSquare / 8 : 7 - kingSquare / 8;
+        if (rank > 1) {
+            return 0;
+        }
+        long files = FILES[x] | ADJACENT_FILES[x];
+        int step = color == ChessPieceColor.WHITE ? 8 : -8;
+        long close = files & rankMask(kingSquare / 8 + step / 8);
+        long far = files & rankMask(kingSquare / 8 + 2 * step / 8);
+        return SHIELD_CLOSE * Long.bitCount(pawns & close) + SHIELD_FAR * Long.bitCount(pawns & far);
+    }
+
+    /**
+     * The method returns bitboard of a whole rank
+     *
+     * @param y index of the rank, outside of 0-7 gives an empty bitboard
+     * @return bitboard of the rank
+     */
+    private static long rankMask(int y) {
+        return y < 0 || y > 7 ? 0 : 0xFFL << y * 8;
+    }
+
+    /**
+     * @param middlegame middlegame score
+     * @param endgame    endgame score
+     * @return both scores in a single number
+     */
+    static long pack(int middlegame, int endgame) {
+        return (long) middlegame << 32 | endgame & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @param score both scores in a single number
+     * @return middlegame score
+     */
+    public static int middlegame(long score) {
+        return (int) (score >> 32);
+    }
+
+    /**
+     * @param score both scores in a single number
+     * @return endgame score
+     */
+    public static int endgame(long score) {
+        return (int) score;
+    }
+}
@@ -0,0 +1,187 @@
+package chess.evaluation;
+
+import chess.ChessBoard;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.navigation.Position;
+
+public interface StaticExchange {
+
+    /**
+     * The method returns material value of a chesspiece type as used by the exchange evaluation
+     *
+     * @param type type of the chesspiece
+     * @return value of the type in centipawns
+     */
+    static int exchangeValue(ChessType type) {
+        return switch (type) {
+            case PAWN -> 100;
+            case KNIGHT -> 320;
+            case BISHOP -> 330;
+            case ROOK -> 500;
+            case QUEEN -> 900;
+            case KING -> 20000;
+        };
+    }
+
+    /**
+     * The method returns index of the bit that represents the given coordinates in a mask of removed chesspieces
+     *
+     * @param x column on the chessboard
+     * @param y row on the chessboard
+     * @return bit index of the coordinates
+     */
+    private static int bit(int x, int y) {
+        return y * 8 + x;
+    }
+
+    /**
+     * The method returns the chesspiece at the given coordinates unless it was already used up in the exchange
+     *
+     * @param chessBoard chessboard the exchange takes place on
+     * @param x          column on the chessboard
+     * @param y          row on the chessboard
+     * @param removed    mask of chesspieces that already took part in the exchange
+     * @return chesspiece at the coordinates or null if there is none or it was removed
+     */
+    private static ChessPiece pieceAt(ChessBoard chessBoard, int x, int y, long removed) {
+        if (x < 0 || x > 7 || y < 0 || y > 7 || (removed & (1L << bit(x, y))) != 0) {
+            return null;
+        }
+        return chessBoard.getElement(new Position(x, y)).piece();
+    }
+
+    /**
+     * The method looks for the least valuable chesspiece of the given color attacking the target.
+     * Chesspieces marked in the removed mask are treated as gone, so sliders standing behind them
+     * (x-ray attackers) are found as soon as the chesspieces in front of them have captured.
+     *
+     * @param chessBoard chessboard the exchange takes place on
+     * @param target     position being fought over
+     * @param by         color of attacking chesspieces
+     * @param removed    mask of chesspieces that already took part in the exchange
+     * @return bit index of the least valuable attacker or -1 if there is none
+     */
+    private static int leastValuableAttacker(ChessBoard chessBoard, Position target, ChessPieceColor by, long removed) {
+        int tx = target.x();
+        int ty = target.y();
+        int best = -1;
+        int bestValue = Integer.MAX_VALUE;
+        ChessPiece chessPiece;
+
+        int pawnRow = by == ChessPieceColor.WHITE ? ty - 1 : ty + 1;
+        for (int dx = -1; dx <= 1; dx += 2) {
+            chessPiece = pieceAt(chessBoard, tx + dx, pawnRow, removed);
+            if (chessPiece != null && chessPiece.color() == by && chessPiece.type() == ChessType.PAWN) {
+                return bit(tx + dx, pawnRow);
+            }
+        }
+
+        int[][] jumps = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2},
+                {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+        for (int i = 0; i < jumps.length; i++) {
+            int x = tx + jumps[i][0];
+            int y = ty + jumps[i][1];
+            chessPiece = pieceAt(chessBoard, x, y, removed);
+            ChessType expected = i < 8 ? ChessType.KNIGHT : ChessType.KING;
+            if (chessPiece != null && chessPiece.color() == by && chessPiece.type() == expected
+                    && exchangeValue(expected) < bestValue) {
+                best = bit(x, y);
+                bestValue = exchangeValue(expected);
+            }
+        }
+
+        for (int i = 8; i < jumps.length; i++) {
+            int dx = jumps[i][0];
+            int dy = jumps[i][1];
+            boolean diagonal = dx != 0 && dy != 0;
+            int x = tx + dx;
+            int y = ty + dy;
+            while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+                chessPiece = pieceAt(chessBoard, x, y, removed);
+                if (chessPiece != null) {
+                    boolean slides = chessPiece.type() == ChessType.QUEEN
+                            || chessPiece.type() == (diagonal ? ChessType.BISHOP : ChessType.ROOK);
+                    if (slides && chessPiece.color() == by && exchangeValue(chessPiece.type()) < bestValue) {
+                        best = bit(x, y);
+                        bestValue = exchangeValue(chessPiece.type());
+                    }
+                    break;
+                }
+                x += dx;
+                y += dy;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The method resolves the whole sequence of captures on the destination of the given capture,
+     * every side always recapturing with its least valuable attacker and being free to stop when
+     * continuing would lose material. No chessboard is copied, chesspieces that have already captured
+     * are only marked as removed. Pins and promotions are not taken into account.
+     *
+     * @param chessBoard chessboard the exchange takes place on
+     * @param capture    the first capture of the exchange
+     * @return material balance of the exchange for the side making the first capture
+     */
+    static int evaluate(ChessBoard chessBoard, BoundVector capture) {
+        ChessPiece attacker = chessBoard.getElement(capture.origin()).piece();
+        if (attacker == null) {
+            throw new IllegalArgumentException("There is no chesspiece making the capture");
+        }
+        Position target = capture.destination();
+        ChessPiece captured = chessBoard.getElement(target).piece();
+        //one entry for the first capture and one for every chesspiece that could recapture
+        int[] gain = new int[33];
+        int depth = 0;
+        gain[0] = captured == null ? 0 : exchangeValue(captured.type());
+        int attackerValue = exchangeValue(attacker.type());
+        int from = bit(capture.origin().x(), capture.origin().y());
+        ChessPieceColor side = attacker.color();
+        long removed = 0L;
+        do {
+            depth++;
+            //speculative balance for the side to capture next, dropped below if that side has no attacker
+            gain[depth] = attackerValue - gain[depth - 1];
+            removed |= 1L << from;
+            side = side.oppositeColor();
+            from = leastValuableAttacker(chessBoard, target, side, removed);
+            if (from >= 0) {
+                ChessPiece next = chessBoard.getElement(new Position(from % 8, from / 8)).piece();
+                attackerValue = exchangeValue(next.type());
+                //the king can recapture only if the square is not defended anymore
+                if (next.type() == ChessType.KING
+                        && leastValuableAttacker(chessBoard, target, side.oppositeColor(), removed | 1L << from) >= 0) {
+                    from = -1;
+                }
+            }
+        } while (from >= 0);
+        while (--depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    /**
+     * The method checks whether the chesspiece at the given position is hanging, that is whether the
+     * opposite color can win material by starting an exchange on its position
+     *
+     * @param chessBoard chessboard the chesspiece is placed on
+     * @param position   position of the chesspiece to check
+     * @return true if the chesspiece can be won, otherwise false
+     */
+    static boolean isHanging(ChessBoard chessBoard, Position position) {
+        ChessPiece chessPiece = chessBoard.getElement(position).piece();
+        if (chessPiece == null) {
+            return false;
+        }
+        int from = leastValuableAttacker(chessBoard, position, chessPiece.color().oppositeColor(), 0L);
+        if (from < 0) {
+            return false;
+        }
+        return evaluate(chessBoard, new BoundVector(new Position(from % 8, from / 8), position)) > 0;
+    }
+}
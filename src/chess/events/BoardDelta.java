@@ -0,0 +1,144 @@
+package chess.events;
+
+import chess.ChessBoard;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.enums.TheStateOfTheGame;
+import chess.navigation.Position;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes a single move, or a takeback, made to the chessboard. Applied in order to the chessboard
+ * before, the changes give the chessboard after.
+ * Encoded, a delta takes 6 bytes plus 2 bytes per change: int sequence, byte with the color on the move in bit 0,
+ * the state of the game in bits 1-2 and the promotion type plus one in bits 3-5, byte number of changes,
+ * then for every change a byte with the square in bits 0-5 and whether the chesspiece was added in bit 6,
+ * and a byte with the type of the chesspiece in bits 0-2, its color in bit 3 and whether it was moved in bit 4.
+ */
+public record BoardDelta(int sequence, List<SquareChange> changes, ChessType promotion,
+                         ChessPieceColor sideToMove, TheStateOfTheGame state) {
+
+    /**
+     * A chesspiece taken off or put on a square
+     */
+    public record SquareChange(Position position, ChessPiece chessPiece, boolean added) {
+
+        public SquareChange {
+            if (position == null || chessPiece == null) {
+                throw new IllegalArgumentException("Position and chess piece cannot be null");
+            }
+        }
+    }
+
+    private static final ChessType[] TYPES = ChessType.values();
+    private static final TheStateOfTheGame[] STATES = TheStateOfTheGame.values();
+    private static final int HEADER_BYTES = 6;
+
+    public BoardDelta {
+        if (sideToMove == null || state == null) {
+            throw new IllegalArgumentException("Side to move and state of the game cannot be null");
+        }
+        changes = List.copyOf(changes);
+        if (changes.size() > 255) {
+            throw new IllegalArgumentException("Too many changes");
+        }
+    }
+
+    /**
+     * The method returns the delta turning the first chessboard into the second one, square by square.
+     * It serves for changes that are not made by a move, like takebacks.
+     *
+     * @param sequence number of the delta
+     * @param before   chessboard before the change
+     * @param after    chessboard after the change
+     * @param state    state of the game after the change
+     * @return the delta
+     */
+    public static BoardDelta between(int sequence, ChessBoard before, ChessBoard after, TheStateOfTheGame state) {
+        List<SquareChange> changes = new ArrayList<>();
+        for (Position position : after.getAllValidPositions()) {
+            ChessPiece old = before == null ? null : before.getElement(position).piece();
+            ChessPiece current = after.getElement(position).piece();
+            if (old != null && !old.equals(current)) {
+                changes.add(new SquareChange(position, old, false));
+            }
+            if (current != null && !current.equals(old)) {
+                changes.add(new SquareChange(position, current, true));
+            }
+        }
+        return new BoardDelta(sequence, changes, null, after.getCurrentColor(), state);
+    }
+
+    /**
+     * The method returns the delta that puts every chesspiece of the chessboard on an empty chessboard,
+     * for subscribers joining in the middle of a game
+     *
+     * @param sequence   number of the delta
+     * @param chessBoard current chessboard
+     * @param state      state of the game
+     * @return the delta
+     */
+    public static BoardDelta snapshot(int sequence, ChessBoard chessBoard, TheStateOfTheGame state) {
+        return between(sequence, null, chessBoard, state);
+    }
+
+    /**
+     * @return number of bytes of the encoded delta
+     */
+    public int encodedSize() {
+        return HEADER_BYTES + 2 * changes.size();
+    }
+
+    /**
+     * The method writes the delta at the position of the buffer and advances the position
+     *
+     * @param buffer buffer with at least encodedSize() bytes remaining
+     */
+    public void encode(ByteBuffer buffer) {
+        int flags = (sideToMove == ChessPieceColor.BLACK ? 1 : 0) | state.ordinal() << 1
+                | (promotion == null ? 0 : promotion.ordinal() + 1) << 3;
+        buffer.putInt(sequence).put((byte) flags).put((byte) changes.size());
+        for (SquareChange change : changes) {
+            Position position = change.position();
+            ChessPiece chessPiece = change.chessPiece();
+            buffer.put((byte) (position.y() * 8 + position.x() | (change.added() ? 1 << 6 : 0)));
+            buffer.put((byte) (chessPiece.type().ordinal() | (chessPiece.color() == ChessPieceColor.BLACK ? 1 << 3 : 0)
+                    | (chessPiece.wasMoved() ? 1 << 4 : 0)));
+        }
+    }
+
+    /**
+     * The method reads a delta written by the method encode and advances the position of the buffer.
+     * Throws IllegalArgumentException if the bytes are not a valid delta.
+     *
+     * @param buffer buffer positioned at the start of a delta
+     * @return the delta
+     */
+    public static BoardDelta decode(ByteBuffer buffer) {
+        int sequence = buffer.getInt();
+        int flags = buffer.get();
+        int count = buffer.get() & 0xFF;
+        int state = flags >> 1 & 3;
+        int promotion = flags >> 3 & 7;
+        if (state >= STATES.length || promotion > TYPES.length) {
+            throw new IllegalArgumentException("Invalid delta header");
+        }
+        List<SquareChange> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int square = buffer.get();
+            int piece = buffer.get();
+            if ((piece & 7) >= TYPES.length) {
+                throw new IllegalArgumentException("Invalid chess piece type");
+            }
+            ChessPiece chessPiece = new ChessPiece(TYPES[piece & 7],
+                    (piece & 1 << 3) != 0 ? ChessPieceColor.BLACK : ChessPieceColor.WHITE, (piece & 1 << 4) != 0);
+            changes.add(new SquareChange(new Position(square & 7, square >> 3 & 7), chessPiece, (square & 1 << 6) != 0));
+        }
+        return new BoardDelta(sequence, changes, promotion == 0 ? null : TYPES[promotion - 1],
+                (flags & 1) != 0 ? ChessPieceColor.BLACK : ChessPieceColor.WHITE, STATES[state]);
+    }
+}
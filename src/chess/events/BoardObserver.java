@@ -0,0 +1,12 @@
+package chess.events;
+
+public interface BoardObserver {
+
+    /**
+     * The method is called after every change of the chessboard of the observed game,
+     * in the order of the changes and from the thread that made them
+     *
+     * @param delta changes made to the chessboard
+     */
+    void boardChanged(BoardDelta delta);
+}
@@ -0,0 +1,252 @@
+package chess.events;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Observer fanning deltas out to many channels. Every delta is encoded once into a read-only view of a direct buffer,
+ * and every subscriber gets its own duplicate of it, so no bytes are copied per subscriber or into the heap
+ * of the channel. Deltas are encoded one after another into pooled direct slabs, a slab going back to the pool
+ * once every subscriber has written or dropped all the deltas in it.
+ * Deltas are queued per subscriber and written in one gathering write per flush, which coalesces
+ * all the moves since the last flush into a single system call on socket channels.
+ */
+public class DeltaPublisher implements BoardObserver {
+
+    //a delta has at most 255 changes, 516 bytes, so it always fits a slab
+    private static final int SLAB_BYTES = 16 * 1024;
+    private static final int MAX_FREE_SLABS = 8;
+    private static final int INITIAL_QUEUE = 16;
+
+    /**
+     * Direct buffer the deltas are encoded into and the number of queued views of its deltas
+     */
+    private static final class Slab {
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(SLAB_BYTES);
+        private int views;
+    }
+
+    private static final class Subscriber {
+        private final WritableByteChannel channel;
+        //queued deltas from head to head + count, kept contiguous so they are written without copying the array
+        private ByteBuffer[] pending;
+        private Slab[] slabs;
+        private int head;
+        private int count;
+
+        private Subscriber(WritableByteChannel channel, int capacity) {
+            this.channel = channel;
+            this.pending = new ByteBuffer[capacity];
+            this.slabs = new Slab[capacity];
+        }
+    }
+
+    private final int maxPending;
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private final ArrayDeque<Slab> freeSlabs = new ArrayDeque<>();
+    private Slab slab;
+
+    /**
+     * The DeltaPublisher constructor
+     *
+     * @param maxPending the highest number of deltas waiting for a subscriber,
+     *                   a subscriber falling further behind is dropped and its channel closed
+     */
+    public DeltaPublisher(int maxPending) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Number of pending deltas must be positive");
+        }
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * The method adds a channel that receives every delta published from now on.
+     * The snapshot is written first, so the subscriber can join in the middle of a game.
+     *
+     * @param channel  channel the deltas are written to, preferably non-blocking
+     * @param snapshot delta with the whole current chessboard or null
+     */
+    public synchronized void subscribe(WritableByteChannel channel, BoardDelta snapshot) {
+        Subscriber subscriber = new Subscriber(channel, Math.min(maxPending, INITIAL_QUEUE));
+        if (snapshot != null) {
+            enqueue(subscriber, encode(snapshot));
+        }
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * @return number of channels receiving the deltas
+     */
+    public synchronized int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * The method encodes the delta once and queues a view of it for every subscriber.
+     * Nothing is written until the next flush.
+     *
+     * @param delta changes made to the chessboard
+     */
+    @Override
+    public synchronized void boardChanged(BoardDelta delta) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ByteBuffer encoded = encode(delta);
+        Iterator<Subscriber> iterator = subscribers.iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            if (subscriber.count >= maxPending) {
+                iterator.remove();
+                close(subscriber);
+            } else {
+                enqueue(subscriber, encoded.duplicate());
+            }
+        }
+    }
+
+    /**
+     * The method writes the queued deltas to every subscriber. A subscriber whose channel does not take
+     * everything keeps the rest for the next flush, a subscriber whose channel fails is dropped.
+     */
+    public synchronized void flush() {
+        Iterator<Subscriber> iterator = subscribers.iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            try {
+                write(subscriber);
+            } catch (IOException e) {
+                iterator.remove();
+                close(subscriber);
+            }
+        }
+    }
+
+    /**
+     * The method writes as much of the pending deltas as the channel takes without blocking,
+     * all of them in one gathering write if the channel supports it
+     *
+     * @param subscriber subscriber whose deltas are written
+     * @throws IOException if the channel fails
+     */
+    private void write(Subscriber subscriber) throws IOException {
+        while (subscriber.count > 0) {
+            long written;
+            if (subscriber.channel instanceof GatheringByteChannel gathering) {
+                written = gathering.write(subscriber.pending, subscriber.head, subscriber.count);
+            } else {
+                written = subscriber.channel.write(subscriber.pending[subscriber.head]);
+            }
+            while (subscriber.count > 0 && !subscriber.pending[subscriber.head].hasRemaining()) {
+                release(subscriber);
+            }
+            if (written == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The method adds a delta at the end of the queue of a subscriber. When the end of the array is reached,
+     * the queue is moved to the start of the array, or the array grows if the queue fills all of it.
+     *
+     * @param subscriber subscriber receiving the delta
+     * @param encoded    view of the encoded delta in the current slab
+     */
+    private void enqueue(Subscriber subscriber, ByteBuffer encoded) {
+        if (subscriber.count == subscriber.pending.length) {
+            int capacity = (int) Math.min(2L * subscriber.count, maxPending);
+            subscriber.pending = Arrays.copyOf(subscriber.pending, capacity);
+            subscriber.slabs = Arrays.copyOf(subscriber.slabs, capacity);
+        } else if (subscriber.head + subscriber.count == subscriber.pending.length) {
+            System.arraycopy(subscriber.pending, subscriber.head, subscriber.pending, 0, subscriber.count);
+            System.arraycopy(subscriber.slabs, subscriber.head, subscriber.slabs, 0, subscriber.count);
+            Arrays.fill(subscriber.pending, subscriber.count, subscriber.pending.length, null);
+            Arrays.fill(subscriber.slabs, subscriber.count, subscriber.slabs.length, null);
+            subscriber.head = 0;
+        }
+        int tail = subscriber.head + subscriber.count;
+        subscriber.pending[tail] = encoded;
+        subscriber.slabs[tail] = slab;
+        slab.views++;
+        subscriber.count++;
+    }
+
+    /**
+     * The method removes the first delta from the queue of a subscriber and gives its slab back to the pool
+     * if no other queued delta is left in it
+     *
+     * @param subscriber subscriber whose delta is removed
+     */
+    private void release(Subscriber subscriber) {
+        Slab released = subscriber.slabs[subscriber.head];
+        subscriber.pending[subscriber.head] = null;
+        subscriber.slabs[subscriber.head] = null;
+        subscriber.head++;
+        subscriber.count--;
+        if (subscriber.count == 0) {
+            subscriber.head = 0;
+        }
+        released.views--;
+        if (released != slab) {
+            recycle(released);
+        }
+    }
+
+    /**
+     * The method gives a slab that is no longer written to back to the pool once none of its deltas is queued.
+     * Slabs beyond the size of the pool are left to the garbage collector.
+     *
+     * @param retired slab that is not the current one
+     */
+    private void recycle(Slab retired) {
+        if (retired.views == 0 && freeSlabs.size() < MAX_FREE_SLABS) {
+            retired.buffer.clear();
+            freeSlabs.push(retired);
+        }
+    }
+
+    /**
+     * The method encodes a delta after the previous one in the current slab, taking another slab
+     * from the pool when the current one is full
+     *
+     * @param delta delta to encode
+     * @return read-only view of the encoded delta, ready to be read
+     */
+    private ByteBuffer encode(BoardDelta delta) {
+        int size = delta.encodedSize();
+        if (slab == null || slab.buffer.remaining() < size) {
+            Slab full = slab;
+            slab = freeSlabs.isEmpty() ? new Slab() : freeSlabs.pop();
+            if (full != null) {
+                recycle(full);
+            }
+        }
+        int start = slab.buffer.position();
+        delta.encode(slab.buffer);
+        return slab.buffer.slice(start, size).asReadOnlyBuffer();
+    }
+
+    /**
+     * The method closes channel of a dropped subscriber, failures are ignored since the subscriber is gone anyway
+     *
+     * @param subscriber dropped subscriber
+     */
+    private void close(Subscriber subscriber) {
+        while (subscriber.count > 0) {
+            release(subscriber);
+        }
+        try {
+            subscriber.channel.close();
+        } catch (IOException e) {
+            //nothing more can be done with a channel that fails to close
+        }
+    }
+}
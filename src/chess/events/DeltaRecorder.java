@@ -0,0 +1,63 @@
+package chess.events;
+
+import chess.BoardChangeListener;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.enums.TheStateOfTheGame;
+import chess.navigation.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listener collecting the changes ChessDoer reports while making a move, turned into a delta once the move is over
+ */
+public class DeltaRecorder implements BoardChangeListener {
+
+    private final List<BoardDelta.SquareChange> changes = new ArrayList<>(4);
+    private ChessPiece movedPiece;
+    private ChessType promotion;
+    private ChessPieceColor sideToMove;
+
+    @Override
+    public void pieceRemoved(Position where, ChessPiece chessPiece) {
+        if (changes.isEmpty()) {
+            movedPiece = chessPiece;
+        }
+        changes.add(new BoardDelta.SquareChange(where, chessPiece, false));
+    }
+
+    @Override
+    public void pieceAdded(Position where, ChessPiece chessPiece) {
+        if (movedPiece != null && movedPiece.type() != chessPiece.type()) {
+            promotion = chessPiece.type();
+        }
+        changes.add(new BoardDelta.SquareChange(where, chessPiece, true));
+    }
+
+    @Override
+    public void colorFlipped(ChessPieceColor currentColor) {
+        sideToMove = currentColor;
+    }
+
+    /**
+     * The method turns the recorded changes into a delta and forgets them, so the recorder can be used
+     * for the next move. Throws IllegalStateException if no move has been recorded.
+     *
+     * @param sequence number of the delta
+     * @param state    state of the game after the move
+     * @return the delta
+     */
+    public BoardDelta finish(int sequence, TheStateOfTheGame state) {
+        if (sideToMove == null) {
+            throw new IllegalStateException("No move recorded");
+        }
+        BoardDelta delta = new BoardDelta(sequence, changes, promotion, sideToMove, state);
+        changes.clear();
+        movedPiece = null;
+        promotion = null;
+        sideToMove = null;
+        return delta;
+    }
+}
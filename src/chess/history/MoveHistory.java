@@ -0,0 +1,260 @@
+package chess.history;
+
+import chess.BoardChangeListener;
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.PromotionTypeProvider;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.navigation.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MoveHistory {
+
+    /**
+     * Number of plies between two stored chessboards
+     */
+    public static final int CHECKPOINT_INTERVAL = 16;
+
+    // Layout of an encoded move:
+    // bits 0-5 origin, bits 6-11 destination, bits 12-14 promotion type,
+    // bits 15-17 captured type, bit 18 captured color, bit 19 captured wasMoved, bit 20 moved wasMoved
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 15;
+    private static final int CAPTURED_BLACK = 1 << 18;
+    private static final int CAPTURED_MOVED = 1 << 19;
+    private static final int MOVED_MOVED = 1 << 20;
+    private static final ChessType[] TYPES = ChessType.values();
+
+    private final List<ChessBoard> checkpoints = new ArrayList<>();
+    private int[] moves = new int[64];
+    private int size;
+    private int ply;
+    private ChessBoard chessBoard;
+
+    /**
+     * The MoveHistory constructor
+     *
+     * @param chessBoard chessboard the game starts from
+     */
+    public MoveHistory(ChessBoard chessBoard) {
+        this.chessBoard = chessBoard;
+        checkpoints.add(chessBoard);
+    }
+
+    /**
+     * Getter method for the chessboard at the current ply
+     *
+     * @return current chessboard
+     */
+    public ChessBoard getChessBoard() {
+        return chessBoard;
+    }
+
+    /**
+     * Getter method for the number of moves made from the start to the current chessboard
+     *
+     * @return current ply
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * The method returns the number of moves in the history, moves that can be redone included
+     *
+     * @return number of moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there is a move to undo, otherwise false
+     */
+    public boolean canUndo() {
+        return ply > 0;
+    }
+
+    /**
+     * @return true if there is a move to redo, otherwise false
+     */
+    public boolean canRedo() {
+        return ply < size;
+    }
+
+    /**
+     * The method returns the move that was made at the given ply
+     *
+     * @param ply index of the move, 0 is the first move of the game
+     * @return the move as a bound vector
+     */
+    public BoundVector getMove(int ply) {
+        if (ply < 0 || ply >= size) {
+            throw new IllegalArgumentException("No such move");
+        }
+        return new BoundVector(getPosition(moves[ply]), getPosition(moves[ply] >>> DESTINATION_SHIFT));
+    }
+
+    /**
+     * The method makes a move on the current chessboard and records it. Moves that could be redone are forgotten.
+     *
+     * @param boundVector represents the move
+     * @param provider    represents a way to handle pawn promotion
+     * @return chessboard with the move made
+     */
+    public ChessBoard makeMove(BoundVector boundVector, PromotionTypeProvider provider) {
+        return makeMove(boundVector, provider, BoardChangeListener.NONE);
+    }
+
+    /**
+     * The method makes a move on the current chessboard and records it, reporting the changes
+     * the move makes to the given listener. Moves that could be redone are forgotten.
+     *
+     * @param boundVector represents the move
+     * @param provider    represents a way to handle pawn promotion
+     * @param listener    listener notified about the changes the move makes
+     * @return chessboard with the move made
+     */
+    public ChessBoard makeMove(BoundVector boundVector, PromotionTypeProvider provider, BoardChangeListener listener) {
+        ChessPiece movedPiece = chessBoard.getElement(boundVector.origin()).piece();
+        ChessPiece capturedPiece = chessBoard.getElement(boundVector.destination()).piece();
+        ChessBoard next = ChessDoer.makeStandardChessMove(chessBoard, boundVector, provider, listener);
+        ChessPiece placedPiece = next.getElement(boundVector.destination()).piece();
+
+        int move = getSquare(boundVector.origin()) | getSquare(boundVector.destination()) << DESTINATION_SHIFT;
+        if (placedPiece.type() != movedPiece.type()) {
+            move |= (placedPiece.type().ordinal() + 1) << PROMOTION_SHIFT;
+        }
+        if (capturedPiece != null) {
+            move |= (capturedPiece.type().ordinal() + 1) << CAPTURED_SHIFT;
+            move |= capturedPiece.color() == ChessPieceColor.BLACK ? CAPTURED_BLACK : 0;
+            move |= capturedPiece.wasMoved() ? CAPTURED_MOVED : 0;
+        }
+        move |= movedPiece.wasMoved() ? MOVED_MOVED : 0;
+
+        if (ply == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[ply] = move;
+        ply++;
+        size = ply;
+        while (checkpoints.size() > (ply - 1) / CHECKPOINT_INTERVAL + 1) {
+            checkpoints.remove(checkpoints.size() - 1);
+        }
+        chessBoard = next;
+        if (ply % CHECKPOINT_INTERVAL == 0) {
+            checkpoints.add(chessBoard);
+        }
+        return chessBoard;
+    }
+
+    /**
+     * The method takes back the last move using only its encoded undo data.
+     * Throws IllegalStateException if there is no move to undo.
+     *
+     * @return chessboard from before the move
+     */
+    public ChessBoard undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("No move to undo");
+        }
+        ply--;
+        int move = moves[ply];
+        Position origin = getPosition(move);
+        Position destination = getPosition(move >>> DESTINATION_SHIFT);
+        ChessPiece placedPiece = chessBoard.getElement(destination).piece();
+        ChessType movedType = (move >>> PROMOTION_SHIFT & 7) != 0 ? ChessType.PAWN : placedPiece.type();
+        ChessPiece movedPiece = new ChessPiece(movedType, placedPiece.color(), (move & MOVED_MOVED) != 0);
+        ChessPiece capturedPiece = null;
+        int capturedType = move >>> CAPTURED_SHIFT & 7;
+        if (capturedType != 0) {
+            capturedPiece = new ChessPiece(TYPES[capturedType - 1],
+                    (move & CAPTURED_BLACK) != 0 ? ChessPieceColor.BLACK : ChessPieceColor.WHITE,
+                    (move & CAPTURED_MOVED) != 0);
+        }
+        chessBoard = chessBoard.getChessBoardWithChangedChessPiece(origin, movedPiece)
+                .getChessBoardWithChangedChessPiece(destination, capturedPiece)
+                .getChessBoardWithFlippedColor();
+        return chessBoard;
+    }
+
+    /**
+     * The method makes again the move that was undone last.
+     * Throws IllegalStateException if there is no move to redo.
+     *
+     * @return chessboard with the move made again
+     */
+    public ChessBoard redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("No move to redo");
+        }
+        int move = moves[ply];
+        int promotion = move >>> PROMOTION_SHIFT & 7;
+        ChessType promotionType = promotion != 0 ? TYPES[promotion - 1] : ChessType.QUEEN;
+        chessBoard = ChessDoer.makeStandardChessMove(chessBoard, getMove(ply), () -> promotionType);
+        ply++;
+        return chessBoard;
+    }
+
+    /**
+     * The method moves to the chessboard at the given ply, starting either from the current chessboard
+     * or from the closest stored chessboard, whichever is fewer moves away.
+     * At most CHECKPOINT_INTERVAL / 2 moves are undone or redone.
+     *
+     * @param target ply to go to, between 0 and size()
+     * @return chessboard at the given ply
+     */
+    public ChessBoard jumpTo(int target) {
+        if (target < 0 || target > size) {
+            throw new IllegalArgumentException("No such ply");
+        }
+        int below = target / CHECKPOINT_INTERVAL;
+        int above = below + 1;
+        int start = ply;
+        if (Math.abs(target - below * CHECKPOINT_INTERVAL) < Math.abs(target - start)) {
+            start = below * CHECKPOINT_INTERVAL;
+        }
+        if (above < checkpoints.size() && Math.abs(above * CHECKPOINT_INTERVAL - target) < Math.abs(target - start)) {
+            start = above * CHECKPOINT_INTERVAL;
+        }
+        if (start != ply) {
+            ply = start;
+            chessBoard = checkpoints.get(start / CHECKPOINT_INTERVAL);
+        }
+        while (ply < target) {
+            redo();
+        }
+        while (ply > target) {
+            undo();
+        }
+        return chessBoard;
+    }
+
+    /**
+     * The method returns index of a position, 0 for a1 and 63 for h8
+     *
+     * @param position position to translate
+     * @return index of the position
+     */
+    private static int getSquare(Position position) {
+        return position.y() * 8 + position.x();
+    }
+
+    /**
+     * The method returns position encoded in the lowest six bits of the value
+     *
+     * @param value value with index of the position in the lowest bits
+     * @return the position
+     */
+    private static Position getPosition(int value) {
+        int square = value & 63;
+        return new Position(square % 8, square / 8);
+    }
+}
@@ -0,0 +1,40 @@
+package chess.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("chess.GameEndCheck")
+@Label("Game End Check")
+@Category({"Chess", "Rules Engine"})
+@Description("Check by ChessArbiter.currentPlayerHasNoStrictlyLegalMoves or by a LegalMoveCache whether the game is over")
+@StackTrace(false)
+@Threshold("5 ms")
+public class GameEndCheckEvent extends Event {
+
+    @Label("Side To Move")
+    public String sideToMove;
+
+    @Label("Position")
+    @Description("Chessboard in Forsyth-Edwards Notation")
+    public String position;
+
+    @Label("No Legal Moves")
+    public boolean noLegalMoves;
+
+    @Label("Moves Examined")
+    @Description("Moves passed to ChessArbiter.isStrictlyLegalMove, 0 when the cache already knew the position")
+    public long movesExamined;
+
+    @Label("Candidates Examined")
+    @Description("Moves checked against the rules of chesspiece movement, attack probes included")
+    public long candidatesExamined;
+
+    @Label("Boards Allocated")
+    @Description("Chessboards created by the ChessBoard copy methods")
+    public long boardsAllocated;
+}
@@ -0,0 +1,157 @@
+package chess.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    //a method reference here would be the first lambda of the program, bootstrapping it delays the first validated move
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * The LatencyHistogram constructor. Values are kept in buckets whose width grows with the value,
+     * every bucket is at most 1/8 as wide as the values it holds, so the relative error stays below 12.5%
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * The method returns index of the bucket the value belongs to
+     *
+     * @param value non-negative value
+     * @return index of the bucket
+     */
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (int) ((value >> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * The method returns the highest value that belongs to the bucket with the given index
+     *
+     * @param index index of the bucket
+     * @return upper bound of the bucket
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int magnitude = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        long lower = ((long) (SUB_BUCKETS + (index - LINEAR_LIMIT) % SUB_BUCKETS)) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * The method records a single value, negative values are recorded as 0
+     *
+     * @param value value to record, for example latency in nanoseconds
+     */
+    public void record(long value) {
+        long clamped = Math.max(value, 0);
+        counts[bucketIndex(clamped)].increment();
+        total.add(clamped);
+        long current = max.get();
+        while (clamped > current && !max.compareAndSet(current, clamped)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : counts) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return mean of recorded values or 0 if nothing was recorded
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : (double) total.sum() / count;
+    }
+
+    /**
+     * @return the highest recorded value or 0 if nothing was recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * The method returns the value below which the given percentage of recorded values falls,
+     * rounded up to the upper bound of its bucket
+     *
+     * @param percentile percentage between 0 and 100
+     * @return value at the percentile or 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * The method forgets all recorded values
+     */
+    public void reset() {
+        for (LongAdder bucket : counts) {
+            bucket.reset();
+        }
+        total.reset();
+        max.set(0);
+    }
+
+    /**
+     * The method returns String representation of this histogram
+     *
+     * @return count, mean, percentiles and maximum of recorded values
+     */
+    @Override
+    public String toString() {
+        return "count=" + count()
+                + " mean=" + Math.round(mean())
+                + " p50=" + percentile(50)
+                + " p90=" + percentile(90)
+                + " p99=" + percentile(99)
+                + " p99.9=" + percentile(99.9)
+                + " max=" + max();
+    }
+}
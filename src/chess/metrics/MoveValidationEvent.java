@@ -0,0 +1,40 @@
+package chess.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("chess.MoveValidation")
+@Label("Move Validation")
+@Category({"Chess", "Rules Engine"})
+@Description("Validation of a single move by ChessArbiter.isStrictlyLegalMove")
+@StackTrace(false)
+@Threshold("1 ms")
+public class MoveValidationEvent extends Event {
+
+    @Label("Move")
+    @Description("Validated move in coordinate notation, for example e2e4")
+    public String move;
+
+    @Label("Side To Move")
+    public String sideToMove;
+
+    @Label("Position")
+    @Description("Chessboard in Forsyth-Edwards Notation")
+    public String position;
+
+    @Label("Legal")
+    public boolean legal;
+
+    @Label("Candidates Examined")
+    @Description("Moves checked against the rules of chesspiece movement, attack probes included")
+    public long candidatesExamined;
+
+    @Label("Boards Allocated")
+    @Description("Chessboards created by the ChessBoard copy methods")
+    public long boardsAllocated;
+}
@@ -0,0 +1,177 @@
+package chess.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class RulesEngineMetrics implements RulesEngineMetricsMBean {
+
+    /**
+     * Name the metrics are registered under in the platform MBean server
+     */
+    public static final String OBJECT_NAME = "chess:type=RulesEngineMetrics";
+
+    private static final RulesEngineMetrics INSTANCE = new RulesEngineMetrics();
+
+    //collection can be switched off with -Dchess.metrics=false, then every hook costs one volatile read
+    private static volatile boolean enabled = !"false".equals(System.getProperty("chess.metrics"));
+    private static boolean registered;
+
+    private final LongAdder strictlyLegalMoveChecks = new LongAdder();
+    private final LongAdder positionUnderAttackScans = new LongAdder();
+    private final LongAdder boardsCreated = new LongAdder();
+    private final LatencyHistogram moveApplication = new LatencyHistogram();
+
+    /**
+     * Private RulesEngineMetrics constructor, there is only one instance shared by the whole rules engine
+     */
+    private RulesEngineMetrics() {
+    }
+
+    /**
+     * @return the only instance of the metrics
+     */
+    public static RulesEngineMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The method registers the metrics in the platform MBean server so they can be read over JMX.
+     * It is called once the program starts, registering the metrics again does nothing.
+     * They are registered even if collection is switched off, so it can be switched on over JMX.
+     */
+    public static synchronized void registerMBean() {
+        if (registered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            //registered by someone else under the same name
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register rules engine metrics", e);
+        }
+        registered = true;
+    }
+
+    /**
+     * The method counts a call to ChessArbiter.isStrictlyLegalMove
+     */
+    public static void countStrictlyLegalMoveCheck() {
+        if (enabled) {
+            INSTANCE.strictlyLegalMoveChecks.increment();
+        }
+    }
+
+    /**
+     * The method counts a call to ChessArbiterHelper.isPositionUnderAttack
+     */
+    public static void countPositionUnderAttackScan() {
+        if (enabled) {
+            INSTANCE.positionUnderAttackScans.increment();
+        }
+    }
+
+    /**
+     * The method counts a chessboard created by one of the ChessBoard copy methods
+     */
+    public static void countBoardCreated() {
+        if (enabled) {
+            INSTANCE.boardsCreated.increment();
+        }
+    }
+
+    /**
+     * The method returns the moment a timed operation starts
+     *
+     * @return System.nanoTime() if the metrics are enabled, otherwise 0
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * The method records latency of a move application that started at the given moment
+     *
+     * @param start value returned by startTimer when the move application started
+     */
+    public static void recordMoveApplication(long start) {
+        if (enabled && start != 0) {
+            INSTANCE.moveApplication.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        RulesEngineMetrics.enabled = enabled;
+    }
+
+    @Override
+    public long getStrictlyLegalMoveChecks() {
+        return strictlyLegalMoveChecks.sum();
+    }
+
+    @Override
+    public long getPositionUnderAttackScans() {
+        return positionUnderAttackScans.sum();
+    }
+
+    @Override
+    public long getBoardsCreated() {
+        return boardsCreated.sum();
+    }
+
+    @Override
+    public long getMovesApplied() {
+        return moveApplication.count();
+    }
+
+    @Override
+    public long getMoveApplicationP50Nanos() {
+        return moveApplication.percentile(50);
+    }
+
+    @Override
+    public long getMoveApplicationP99Nanos() {
+        return moveApplication.percentile(99);
+    }
+
+    @Override
+    public long getMoveApplicationMaxNanos() {
+        return moveApplication.max();
+    }
+
+    @Override
+    public String snapshot() {
+        return "enabled " + enabled + '\n'
+                + "strictlyLegalMoveChecks " + getStrictlyLegalMoveChecks() + '\n'
+                + "positionUnderAttackScans " + getPositionUnderAttackScans() + '\n'
+                + "boardsCreated " + getBoardsCreated() + '\n'
+                + "moveApplicationNanos " + moveApplication + '\n';
+    }
+
+    @Override
+    public void reset() {
+        strictlyLegalMoveChecks.reset();
+        positionUnderAttackScans.reset();
+        boardsCreated.reset();
+        moveApplication.reset();
+    }
+
+    /**
+     * The method returns text snapshot of the metrics
+     *
+     * @return String representation of the metrics
+     */
+    @Override
+    public String toString() {
+        return snapshot();
+    }
+}
@@ -0,0 +1,59 @@
+package chess.metrics;
+
+public interface RulesEngineMetricsMBean {
+
+    /**
+     * @return true if the metrics are being collected, otherwise false
+     */
+    boolean isEnabled();
+
+    /**
+     * @param enabled true to collect the metrics, false to switch the collection off
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return number of calls to ChessArbiter.isStrictlyLegalMove
+     */
+    long getStrictlyLegalMoveChecks();
+
+    /**
+     * @return number of calls to ChessArbiterHelper.isPositionUnderAttack
+     */
+    long getPositionUnderAttackScans();
+
+    /**
+     * @return number of chessboards created by the ChessBoard copy methods
+     */
+    long getBoardsCreated();
+
+    /**
+     * @return number of moves applied by ChessDoer.makeStandardChessMove
+     */
+    long getMovesApplied();
+
+    /**
+     * @return median latency of move application in nanoseconds
+     */
+    long getMoveApplicationP50Nanos();
+
+    /**
+     * @return 99th percentile of move application latency in nanoseconds
+     */
+    long getMoveApplicationP99Nanos();
+
+    /**
+     * @return the highest latency of move application in nanoseconds
+     */
+    long getMoveApplicationMaxNanos();
+
+    /**
+     * @return text snapshot of all the metrics
+     */
+    String snapshot();
+
+    /**
+     * The method sets all the metrics back to zero
+     */
+    void reset();
+}
@@ -0,0 +1,147 @@
+package chess.metrics;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+public final class WorkTally {
+
+    //an anonymous class instead of withInitial, bootstrapping a method reference delays the first validated move
+    private static final ThreadLocal<WorkTally> TALLIES = new ThreadLocal<>() {
+        @Override
+        protected WorkTally initialValue() {
+            return new WorkTally();
+        }
+    };
+
+    //counting only happens while a recording has the chess events enabled, otherwise every hook is one volatile read
+    private static volatile boolean active;
+
+    //the listener is registered only once the recorder runs, adding it earlier loads the internals of the recorder
+    private static volatile boolean listening;
+
+    private long moves;
+    private long candidates;
+    private long boards;
+
+    /**
+     * Private WorkTally constructor, every thread gets its own tally
+     */
+    private WorkTally() {
+    }
+
+    /**
+     * The method switches counting on if any of the chess events is enabled in a running recording, otherwise off
+     */
+    private static void refresh() {
+        active = EventType.getEventType(MoveValidationEvent.class).isEnabled()
+                || EventType.getEventType(GameEndCheckEvent.class).isEnabled();
+    }
+
+    /**
+     * The method checks whether the flight recorder runs in this JVM. Until it does nothing but this check
+     * touches the recorder, because creating the first event or adding the first listener starts up its internals,
+     * which takes tens to hundreds of milliseconds. The first call after the recorder started registers
+     * the listener that switches counting on and off with the recordings.
+     *
+     * @return true if the flight recorder has been initialized, otherwise false
+     */
+    public static boolean isRecorderInitialized() {
+        if (!FlightRecorder.isInitialized()) {
+            return false;
+        }
+        if (!listening) {
+            startListening();
+        }
+        return true;
+    }
+
+    /**
+     * The method registers the listener of the flight recorder once, it is called for the running recorder right away
+     */
+    private static synchronized void startListening() {
+        if (listening) {
+            return;
+        }
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                refresh();
+            }
+
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                refresh();
+            }
+        });
+        listening = true;
+    }
+
+    /**
+     * The method counts a move passed to ChessArbiter.isStrictlyLegalMove by the current thread
+     */
+    public static void countMove() {
+        if (active) {
+            TALLIES.get().moves++;
+        }
+    }
+
+    /**
+     * The method counts a move checked against the rules of chesspiece movement by the current thread
+     */
+    public static void countCandidate() {
+        if (active) {
+            TALLIES.get().candidates++;
+        }
+    }
+
+    /**
+     * The method counts several moves checked at once by the current thread, such as the attack probes
+     * of all the chesspieces of one color
+     *
+     * @param count number of moves checked
+     */
+    public static void countCandidates(int count) {
+        if (active) {
+            TALLIES.get().candidates += count;
+        }
+    }
+
+    /**
+     * The method counts a chessboard created by the current thread
+     */
+    public static void countBoard() {
+        if (active) {
+            TALLIES.get().boards++;
+        }
+    }
+
+    /**
+     * @return tally of the current thread
+     */
+    public static WorkTally current() {
+        return TALLIES.get();
+    }
+
+    /**
+     * @return number of moves the thread has passed to ChessArbiter.isStrictlyLegalMove so far
+     */
+    public long moves() {
+        return moves;
+    }
+
+    /**
+     * @return number of candidate moves the thread has checked so far
+     */
+    public long candidates() {
+        return candidates;
+    }
+
+    /**
+     * @return number of chessboards the thread has created so far
+     */
+    public long boards() {
+        return boards;
+    }
+}
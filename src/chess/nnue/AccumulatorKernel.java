@@ -0,0 +1,64 @@
+package chess.nnue;
+
+interface AccumulatorKernel {
+
+    /**
+     * The method writes an accumulator of the next ply for a move without capture: one input off, one input on.
+     * Values wrap around like int16 arithmetic.
+     *
+     * @param accumulators   accumulators of all the plies
+     * @param from           index of the first value of the accumulator of the current ply
+     * @param to             index of the first value of the accumulator of the next ply
+     * @param featureWeights feature weights of the network
+     * @param add            index of the first weight of the input switched on
+     * @param remove         index of the first weight of the input switched off
+     * @param length         number of values of the accumulator
+     */
+    void move(short[] accumulators, int from, int to, short[] featureWeights, int add, int remove, int length);
+
+    /**
+     * The method writes an accumulator of the next ply for a capture: two inputs off, one input on.
+     * Values wrap around like int16 arithmetic.
+     *
+     * @param accumulators   accumulators of all the plies
+     * @param from           index of the first value of the accumulator of the current ply
+     * @param to             index of the first value of the accumulator of the next ply
+     * @param featureWeights feature weights of the network
+     * @param add            index of the first weight of the input switched on
+     * @param remove         index of the first weight of the first input switched off
+     * @param capture        index of the first weight of the second input switched off
+     * @param length         number of values of the accumulator
+     */
+    void capture(short[] accumulators, int from, int to, short[] featureWeights, int add, int remove, int capture, int length);
+
+    /**
+     * The method multiplies an accumulator clipped to 0-127 by a half of the output weights
+     *
+     * @param accumulators  accumulators of all the plies
+     * @param offset        index of the first value of the accumulator
+     * @param outputWeights output weights of the network
+     * @param from          index of the first output weight
+     * @param length        number of values of the accumulator
+     * @return the dot product
+     */
+    int dot(short[] accumulators, int offset, byte[] outputWeights, int from, int length);
+
+    /**
+     * The factory method returning the kernel built on the Vector API if it was compiled from src-vector,
+     * the jdk.incubator.vector module is present in the running JVM and the CPU has vectors of at least 256 bits,
+     * otherwise the scalar one. The vector kernel is loaded by name, so the main sources build without the module.
+     *
+     * @return the fastest available kernel
+     */
+    static AccumulatorKernel create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (AccumulatorKernel) Class.forName("chess.nnue.VectorAccumulatorKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                //not compiled, or the vectors of the CPU are too narrow, the scalar kernel is used instead
+            }
+        }
+        return new ScalarAccumulatorKernel();
+    }
+}
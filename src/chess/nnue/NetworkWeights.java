@@ -0,0 +1,173 @@
+package chess.nnue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Quantized weights of an efficiently updatable network with 768 inputs, one hidden layer of two accumulators,
+ * one per point of view, and a single output. The binary file holds, all numbers little-endian:
+ * magic "NNUE", int version, int number of inputs, int hidden size H, short[768 * H] feature weights
+ * ordered by input, short[H] accumulator biases, byte[2 * H] output weights for the accumulator of the color
+ * on the move followed by the other one, int output bias and int output scale.
+ * The evaluation in centipawns is (output + output bias) * scale / (127 * 64), where output is the dot product
+ * of the output weights and the accumulators clipped to 0-127.
+ */
+public final class NetworkWeights {
+
+    /**
+     * Number of inputs: two colors, six types and 64 squares
+     */
+    public static final int INPUTS = 768;
+
+    /**
+     * Version of the binary format written and read by this class
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x45554E4E;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_HIDDEN = 4096;
+
+    final int hidden;
+    final short[] featureWeights;
+    final short[] biases;
+    final byte[] outputWeights;
+    final int outputBias;
+    final int scale;
+
+    private NetworkWeights(int hidden, short[] featureWeights, short[] biases, byte[] outputWeights, int outputBias, int scale) {
+        this.hidden = hidden;
+        this.featureWeights = featureWeights;
+        this.biases = biases;
+        this.outputWeights = outputWeights;
+        this.outputBias = outputBias;
+        this.scale = scale;
+    }
+
+    /**
+     * Getter method for the number of neurons of a single accumulator
+     *
+     * @return hidden size
+     */
+    public int getHiddenSize() {
+        return hidden;
+    }
+
+    /**
+     * The method reads weights from a binary file.
+     * Throws IllegalArgumentException if the file is not in the expected format.
+     *
+     * @param path path of the file
+     * @return the weights
+     * @throws IOException if the file cannot be read
+     */
+    public static NetworkWeights load(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * The method reads weights from a stream.
+     * Throws IllegalArgumentException if the stream is not in the expected format.
+     *
+     * @param in stream positioned at the magic number
+     * @return the weights
+     * @throws IOException if the stream cannot be read or ends too early
+     */
+    public static NetworkWeights read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        ByteBuffer header = littleEndian(data, HEADER_BYTES);
+        if (header.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a network weights file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported network version " + version);
+        }
+        int inputs = header.getInt();
+        if (inputs != INPUTS) {
+            throw new IllegalArgumentException("Network must have " + INPUTS + " inputs, not " + inputs);
+        }
+        int hidden = header.getInt();
+        if (hidden < 1 || hidden > MAX_HIDDEN) {
+            throw new IllegalArgumentException("Invalid hidden size " + hidden);
+        }
+        short[] featureWeights = new short[INPUTS * hidden];
+        littleEndian(data, featureWeights.length * 2).asShortBuffer().get(featureWeights);
+        short[] biases = new short[hidden];
+        littleEndian(data, biases.length * 2).asShortBuffer().get(biases);
+        byte[] outputWeights = new byte[2 * hidden];
+        data.readFully(outputWeights);
+        ByteBuffer output = littleEndian(data, 8);
+        return new NetworkWeights(hidden, featureWeights, biases, outputWeights, output.getInt(), output.getInt());
+    }
+
+    /**
+     * The method writes the weights in the binary format read by the method read
+     *
+     * @param out stream the weights are written to, it is flushed but not closed
+     * @throws IOException if writing fails
+     */
+    public void write(OutputStream out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + featureWeights.length * 2 + biases.length * 2
+                + outputWeights.length + 8).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(INPUTS).putInt(hidden);
+        buffer.asShortBuffer().put(featureWeights).put(biases);
+        buffer.position(buffer.position() + (featureWeights.length + biases.length) * 2);
+        buffer.put(outputWeights).putInt(outputBias).putInt(scale);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.write(buffer.array());
+        data.flush();
+    }
+
+    /**
+     * The method creates weights filled with small random numbers. They play no sensible chess,
+     * but cost exactly as much to evaluate as trained weights of the same size, so they serve for benchmarks.
+     *
+     * @param hidden number of neurons of a single accumulator
+     * @param seed   seed of the random numbers
+     * @return the weights
+     */
+    public static NetworkWeights random(int hidden, long seed) {
+        if (hidden < 1 || hidden > MAX_HIDDEN) {
+            throw new IllegalArgumentException("Invalid hidden size " + hidden);
+        }
+        Random random = new Random(seed);
+        short[] featureWeights = new short[INPUTS * hidden];
+        for (int i = 0; i < featureWeights.length; i++) {
+            featureWeights[i] = (short) (random.nextInt(33) - 16);
+        }
+        short[] biases = new short[hidden];
+        for (int i = 0; i < biases.length; i++) {
+            biases[i] = (short) random.nextInt(64);
+        }
+        byte[] outputWeights = new byte[2 * hidden];
+        random.nextBytes(outputWeights);
+        return new NetworkWeights(hidden, featureWeights, biases, outputWeights, 0, 400);
+    }
+
+    /**
+     * The method reads the given number of bytes into a little-endian buffer
+     *
+     * @param data   stream to read from
+     * @param length number of bytes
+     * @return buffer with the bytes
+     * @throws IOException if the stream ends too early
+     */
+    private static ByteBuffer littleEndian(DataInputStream data, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,130 @@
+package chess.nnue;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.enums.ChessType;
+import chess.evaluation.IncrementalEvaluator;
+import chess.navigation.BoundVector;
+import chess.validation.ChessArbiter;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class NnueBenchmark {
+
+    private final NetworkWeights weights;
+    private final List<ChessBoard> positions;
+    private final List<BoundVector[]> moves;
+
+    /**
+     * The NnueBenchmark constructor. Positions are taken from random legal games, so they cover
+     * openings, middlegames and endgames.
+     *
+     * @param weights   weights of the network being measured
+     * @param positions number of positions to measure on
+     * @param seed      seed of the random games
+     */
+    public NnueBenchmark(NetworkWeights weights, int positions, long seed) {
+        if (positions < 1) {
+            throw new IllegalArgumentException("Number of positions must be positive");
+        }
+        this.weights = weights;
+        this.positions = new ArrayList<>(positions);
+        this.moves = new ArrayList<>(positions);
+        Random random = new Random(seed);
+        ChessBoard chessBoard = ChessBoard.create();
+        while (this.positions.size() < positions) {
+            BoundVector[] legalMoves = ChessArbiter.strictlyLegalMoves(chessBoard);
+            if (legalMoves.length == 0 || random.nextInt(100) == 0) {
+                chessBoard = ChessBoard.create();
+                continue;
+            }
+            this.positions.add(chessBoard);
+            this.moves.add(legalMoves);
+            chessBoard = ChessDoer.makeStandardChessMove(chessBoard, legalMoves[random.nextInt(legalMoves.length)],
+                    () -> ChessType.QUEEN);
+        }
+    }
+
+    /**
+     * The method makes, evaluates and undoes every legal move of every position the way a search does,
+     * first with the network and then with the classical evaluation, and prints time per move of both.
+     * The evaluators of all the positions are built before the clock starts, so only moves and evaluations
+     * are timed, like in a search that keeps one evaluator for the whole tree.
+     * It also prints time of a full accumulator refresh and the number of positions where the incrementally
+     * updated accumulators disagree with a refresh, which must be zero.
+     *
+     * @param rounds number of times all the positions are measured, the first round warms up the JIT compiler
+     * @param out    stream the results are printed to
+     */
+    public void run(int rounds, PrintStream out) {
+        out.printf("network: hidden size %d, %d positions, %s%n", weights.getHiddenSize(), positions.size(),
+                NnueEvaluator.KERNEL.getClass().getSimpleName());
+        NnueEvaluator[] networks = new NnueEvaluator[positions.size()];
+        IncrementalEvaluator[] classicals = new IncrementalEvaluator[positions.size()];
+        for (int i = 0; i < positions.size(); i++) {
+            networks[i] = new NnueEvaluator(weights, positions.get(i));
+            classicals[i] = new IncrementalEvaluator(positions.get(i));
+        }
+        for (int round = 1; round <= rounds; round++) {
+            long sink = 0;
+            long count = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < positions.size(); i++) {
+                NnueEvaluator evaluator = networks[i];
+                for (BoundVector move : moves.get(i)) {
+                    evaluator.makeMove(move, () -> ChessType.QUEEN);
+                    sink += evaluator.evaluate();
+                    evaluator.undoMove();
+                    count++;
+                }
+            }
+            long network = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < positions.size(); i++) {
+                IncrementalEvaluator evaluator = classicals[i];
+                for (BoundVector move : moves.get(i)) {
+                    evaluator.makeMove(move, () -> ChessType.QUEEN);
+                    sink += evaluator.evaluate();
+                    evaluator.undoMove();
+                }
+            }
+            long classical = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (ChessBoard chessBoard : positions) {
+                sink += new NnueEvaluator(weights, chessBoard).evaluate();
+            }
+            long refresh = System.nanoTime() - start;
+            out.printf("round %d: network %.0f ns/move, classical %.0f ns/move, refresh %.0f ns/position (%d)%n",
+                    round, (double) network / count, (double) classical / count,
+                    (double) refresh / positions.size(), sink & 1);
+        }
+        out.printf("incremental mismatches: %d%n", countMismatches());
+    }
+
+    /**
+     * The method plays every legal move of every position through the evaluator
+     * and compares the evaluation with the one computed from scratch
+     *
+     * @return number of moves whose evaluations differ
+     */
+    private int countMismatches() {
+        int mismatches = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            NnueEvaluator evaluator = new NnueEvaluator(weights, positions.get(i));
+            for (BoundVector move : moves.get(i)) {
+                ChessBoard next = evaluator.makeMove(move, () -> ChessType.QUEEN);
+                if (evaluator.evaluate() != new NnueEvaluator(weights, next).evaluate()) {
+                    mismatches++;
+                }
+                evaluator.undoMove();
+            }
+            if (evaluator.evaluate() != new NnueEvaluator(weights, positions.get(i)).evaluate()) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+}
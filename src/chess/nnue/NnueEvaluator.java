@@ -0,0 +1,219 @@
+package chess.nnue;
+
+import chess.BoardChangeListener;
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.PromotionTypeProvider;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.navigation.BoundVector;
+import chess.navigation.Position;
+
+import java.util.Arrays;
+
+public class NnueEvaluator {
+
+    /**
+     * Divisor turning the quantized output into centipawns before scaling
+     */
+    public static final int QUANTIZATION = 127 * 64;
+
+    static final AccumulatorKernel KERNEL = AccumulatorKernel.create();
+    //a move removes the moving chesspiece and maybe a captured one and adds the moved or promoted chesspiece
+    private static final int MAX_CHANGES = 4;
+
+    //the listener only collects the rows of the changed inputs, makeMove applies them in one pass per accumulator
+    private final BoardChangeListener tracker = new BoardChangeListener() {
+        @Override
+        public void pieceRemoved(Position where, ChessPiece chessPiece) {
+            removedWhite[removed] = feature(ChessPieceColor.WHITE, where, chessPiece) * hidden;
+            removedBlack[removed] = feature(ChessPieceColor.BLACK, where, chessPiece) * hidden;
+            removed++;
+        }
+
+        @Override
+        public void pieceAdded(Position where, ChessPiece chessPiece) {
+            addedWhite[added] = feature(ChessPieceColor.WHITE, where, chessPiece) * hidden;
+            addedBlack[added] = feature(ChessPieceColor.BLACK, where, chessPiece) * hidden;
+            added++;
+        }
+    };
+
+    private final NetworkWeights weights;
+    private final int hidden;
+    private ChessBoard[] boards = new ChessBoard[16];
+    //two accumulators per ply, the whites' point of view followed by the blacks'
+    private short[] accumulators;
+    private int ply;
+
+    private final int[] addedWhite = new int[MAX_CHANGES];
+    private final int[] addedBlack = new int[MAX_CHANGES];
+    private final int[] removedWhite = new int[MAX_CHANGES];
+    private final int[] removedBlack = new int[MAX_CHANGES];
+    private int added;
+    private int removed;
+
+    /**
+     * The NnueEvaluator constructor. This is the only place where the accumulators are computed from the whole
+     * chessboard, every later change comes from moves made through this object.
+     *
+     * @param weights    weights of the network
+     * @param chessBoard chessboard the evaluation starts from
+     */
+    public NnueEvaluator(NetworkWeights weights, ChessBoard chessBoard) {
+        this.weights = weights;
+        this.hidden = weights.hidden;
+        this.accumulators = new short[boards.length * 2 * hidden];
+        System.arraycopy(weights.biases, 0, accumulators, 0, hidden);
+        System.arraycopy(weights.biases, 0, accumulators, hidden, hidden);
+        for (Position position : chessBoard.getAllValidPositions()) {
+            ChessPiece chessPiece = chessBoard.getElement(position).piece();
+            if (chessPiece != null) {
+                apply(feature(ChessPieceColor.WHITE, position, chessPiece) * hidden, 0, 1);
+                apply(feature(ChessPieceColor.BLACK, position, chessPiece) * hidden, hidden, 1);
+            }
+        }
+        boards[0] = chessBoard;
+    }
+
+    /**
+     * The method returns index of the input a chesspiece activates when seen from the given point of view.
+     * The blacks see the chessboard mirrored, so both accumulators share the same weights.
+     *
+     * @param perspective color whose point of view it is
+     * @param where       position of the chesspiece
+     * @param chessPiece  the chesspiece
+     * @return index of the input
+     */
+    private static int feature(ChessPieceColor perspective, Position where, ChessPiece chessPiece) {
+        int square = where.y() * 8 + where.x();
+        if (perspective == ChessPieceColor.BLACK) {
+            square ^= 56;
+        }
+        int relative = chessPiece.color() == perspective ? 0 : 6;
+        return (relative + chessPiece.type().ordinal()) * 64 + square;
+    }
+
+    /**
+     * The method adds or subtracts a row of feature weights to an accumulator
+     *
+     * @param row    index of the first weight of the row
+     * @param offset index of the first value of the accumulator
+     * @param sign   1 to add, -1 to subtract
+     */
+    private void apply(int row, int offset, int sign) {
+        short[] featureWeights = weights.featureWeights;
+        short[] accumulator = accumulators;
+        if (sign > 0) {
+            for (int i = 0; i < hidden; i++) {
+                accumulator[offset + i] += featureWeights[row + i];
+            }
+        } else {
+            for (int i = 0; i < hidden; i++) {
+                accumulator[offset + i] -= featureWeights[row + i];
+            }
+        }
+    }
+
+    /**
+     * Getter method for the chessboard in its current state
+     *
+     * @return current chessboard
+     */
+    public ChessBoard getChessBoard() {
+        return boards[ply];
+    }
+
+    /**
+     * Getter method for the number of moves made and not undone yet
+     *
+     * @return number of moves on the stack
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * The method makes a move on the current chessboard. The accumulators of the next ply are written
+     * in a single pass from the accumulators of the current ply and the inputs of the chesspieces the move
+     * removed and added, so nothing is copied and undoing the move only steps back a ply.
+     *
+     * @param boundVector represents the move
+     * @param provider    represents a way to handle pawn promotion
+     * @return chessboard with the move made
+     */
+    public ChessBoard makeMove(BoundVector boundVector, PromotionTypeProvider provider) {
+        if (ply + 1 == boards.length) {
+            boards = Arrays.copyOf(boards, boards.length * 2);
+            accumulators = Arrays.copyOf(accumulators, accumulators.length * 2);
+        }
+        added = 0;
+        removed = 0;
+        ChessBoard next = ChessDoer.makeStandardChessMove(boards[ply], boundVector, provider, tracker);
+        short[] featureWeights = weights.featureWeights;
+        int from = ply * 2 * hidden;
+        int to = from + 2 * hidden;
+        if (added == 1 && removed == 1) {
+            KERNEL.move(accumulators, from, to, featureWeights, addedWhite[0], removedWhite[0], hidden);
+            KERNEL.move(accumulators, from + hidden, to + hidden, featureWeights, addedBlack[0], removedBlack[0], hidden);
+        } else if (added == 1 && removed == 2) {
+            KERNEL.capture(accumulators, from, to, featureWeights, addedWhite[0], removedWhite[0], removedWhite[1], hidden);
+            KERNEL.capture(accumulators, from + hidden, to + hidden, featureWeights,
+                    addedBlack[0], removedBlack[0], removedBlack[1], hidden);
+        } else {
+            System.arraycopy(accumulators, from, accumulators, to, 2 * hidden);
+            for (int i = 0; i < added; i++) {
+                apply(addedWhite[i], to, 1);
+                apply(addedBlack[i], to + hidden, 1);
+            }
+            for (int i = 0; i < removed; i++) {
+                apply(removedWhite[i], to, -1);
+                apply(removedBlack[i], to + hidden, -1);
+            }
+        }
+        ply++;
+        boards[ply] = next;
+        return next;
+    }
+
+    /**
+     * The method takes back the last move made through this object.
+     * Throws IllegalStateException if there is no move to undo.
+     *
+     * @return chessboard from before the last move
+     */
+    public ChessBoard undoMove() {
+        if (ply == 0) {
+            throw new IllegalStateException("No move to undo");
+        }
+        boards[ply] = null;
+        ply--;
+        return boards[ply];
+    }
+
+    /**
+     * The method returns evaluation of the current chessboard from the point of view of the color on the move.
+     * Both accumulators are clipped to 0-127, so every product of the output layer is int8 times int8.
+     *
+     * @return evaluation in centipawns, positive if the color on the move stands better
+     */
+    public int evaluate() {
+        int offset = ply * 2 * hidden;
+        boolean whiteToMove = boards[ply].getCurrentColor() == ChessPieceColor.WHITE;
+        int us = whiteToMove ? offset : offset + hidden;
+        int them = whiteToMove ? offset + hidden : offset;
+        int output = KERNEL.dot(accumulators, us, weights.outputWeights, 0, hidden)
+                + KERNEL.dot(accumulators, them, weights.outputWeights, hidden, hidden);
+        return (int) ((long) (output + weights.outputBias) * weights.scale / QUANTIZATION);
+    }
+
+    /**
+     * The method returns evaluation of the current chessboard from the whites' point of view
+     *
+     * @return evaluation in centipawns, positive if whites stand better
+     */
+    public int evaluateForWhite() {
+        int score = evaluate();
+        return boards[ply].getCurrentColor() == ChessPieceColor.WHITE ? score : -score;
+    }
+}
@@ -0,0 +1,31 @@
+package chess.nnue;
+
+class ScalarAccumulatorKernel implements AccumulatorKernel {
+
+    private static final int CLIP = 127;
+
+    @Override
+    public void move(short[] accumulators, int from, int to, short[] featureWeights, int add, int remove, int length) {
+        for (int i = 0; i < length; i++) {
+            accumulators[to + i] = (short) (accumulators[from + i] + featureWeights[add + i] - featureWeights[remove + i]);
+        }
+    }
+
+    @Override
+    public void capture(short[] accumulators, int from, int to, short[] featureWeights, int add, int remove, int capture, int length) {
+        for (int i = 0; i < length; i++) {
+            accumulators[to + i] = (short) (accumulators[from + i] + featureWeights[add + i]
+                    - featureWeights[remove + i] - featureWeights[capture + i]);
+        }
+    }
+
+    @Override
+    public int dot(short[] accumulators, int offset, byte[] outputWeights, int from, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            int clipped = Math.min(Math.max(accumulators[offset + i], 0), CLIP);
+            sum += clipped * outputWeights[from + i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,178 @@
+package chess.soak;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.navigation.Position;
+import chess.validation.ChessArbiter;
+import com.sun.management.ThreadMXBean;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class AllocationSoak {
+
+    private static final ChessType[] PROMOTIONS = {ChessType.QUEEN, ChessType.ROOK, ChessType.BISHOP, ChessType.KNIGHT};
+
+    private final SoakBudget budget;
+    private final PrintStream out;
+    private final ThreadMXBean threads;
+    private final MemoryPoolMXBean oldGen;
+
+    private long moves;
+    private long moveBytes;
+    private long validations;
+    private long validationBytes;
+
+    /**
+     * The AllocationSoak constructor. Throws IllegalStateException if the JVM cannot measure
+     * memory allocated by a thread.
+     *
+     * @param budget budgets the soak must stay within
+     * @param out    stream reports are printed to
+     */
+    public AllocationSoak(SoakBudget budget, PrintStream out) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean bean) || !bean.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("Thread allocation measurement is not supported by this JVM");
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+        this.threads = bean;
+        this.budget = budget;
+        this.out = out;
+        this.oldGen = findOldGen();
+    }
+
+    /**
+     * The method looks for the heap memory pool holding long-lived objects
+     *
+     * @return the old generation pool or null if the collector has none
+     */
+    private static MemoryPoolMXBean findOldGen() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            String name = pool.getName();
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()
+                    && (name.contains("Old") || name.contains("Tenured"))) {
+                return pool;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The method returns old generation usage right after the last collection
+     *
+     * @return bytes used by the old generation or 0 if it cannot be measured
+     */
+    private long oldGenUsage() {
+        if (oldGen == null) {
+            return 0;
+        }
+        MemoryUsage usage = oldGen.getCollectionUsage();
+        return usage == null ? 0 : usage.getUsed();
+    }
+
+    /**
+     * The method validates a move and adds the bytes it allocated to the totals
+     *
+     * @param chessBoard  current chessboard
+     * @param boundVector move to validate
+     * @return true if the move is legal, otherwise false
+     */
+    private boolean measureValidation(ChessBoard chessBoard, BoundVector boundVector) {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        boolean legal = ChessArbiter.isStrictlyLegalMove(chessBoard, boundVector);
+        validationBytes += threads.getCurrentThreadAllocatedBytes() - before;
+        validations++;
+        return legal;
+    }
+
+    /**
+     * The method makes a move and adds the bytes it allocated to the totals
+     *
+     * @param chessBoard  current chessboard
+     * @param boundVector move to make
+     * @param promotion   type a pawn gets promoted to
+     * @return chessboard with the move made
+     */
+    private ChessBoard measureMove(ChessBoard chessBoard, BoundVector boundVector, ChessType promotion) {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        ChessBoard next = ChessDoer.makeStandardChessMove(chessBoard, boundVector, () -> promotion);
+        moveBytes += threads.getCurrentThreadAllocatedBytes() - before;
+        moves++;
+        return next;
+    }
+
+    /**
+     * The method plays random legal games in this thread. Before every move a few random candidate moves
+     * are validated, then a random legal move is made, and allocation of both is measured.
+     * Old generation usage after collection is sampled after every game.
+     *
+     * @param games         number of games to play
+     * @param maxPlies      number of plies after which a game is abandoned
+     * @param seed          seed of the random moves, the same seed plays the same games
+     * @param probesPerMove number of random candidate moves validated before every move
+     * @return list of exceeded budgets, empty if the soak passed
+     */
+    public List<String> run(int games, int maxPlies, long seed, int probesPerMove) {
+        Random random = new Random(seed);
+        long startOldGen = oldGenUsage();
+        long peakGrowth = 0;
+        long start = System.nanoTime();
+        for (int game = 1; game <= games; game++) {
+            ChessBoard chessBoard = ChessBoard.create();
+            for (int ply = 0; ply < maxPlies; ply++) {
+                BoundVector[] legalMoves = ChessArbiter.strictlyLegalMoves(chessBoard);
+                if (legalMoves.length == 0) {
+                    break;
+                }
+                Position[] own = chessBoard.getChessPiecePositionsOfColor(chessBoard.getCurrentColor());
+                for (int i = 0; i < probesPerMove; i++) {
+                    Position origin = own[random.nextInt(own.length)];
+                    measureValidation(chessBoard, new BoundVector(origin, new Position(random.nextInt(8), random.nextInt(8))));
+                }
+                BoundVector move = legalMoves[random.nextInt(legalMoves.length)];
+                measureValidation(chessBoard, move);
+                chessBoard = measureMove(chessBoard, move, PROMOTIONS[random.nextInt(PROMOTIONS.length)]);
+            }
+            long growth = oldGenUsage() - startOldGen;
+            peakGrowth = Math.max(peakGrowth, growth);
+            if (game % 10 == 0 || game == games) {
+                out.printf("game %d: %.0f bytes/move, %.0f bytes/validation, old gen growth %d bytes, %.1f s%n",
+                        game, bytesPerMove(), bytesPerValidation(), growth, (System.nanoTime() - start) / 1e9);
+            }
+        }
+        List<String> violations = new ArrayList<>();
+        if (bytesPerMove() > budget.maxBytesPerMove()) {
+            violations.add(String.format("%.0f bytes/move exceeds budget of %d", bytesPerMove(), budget.maxBytesPerMove()));
+        }
+        if (bytesPerValidation() > budget.maxBytesPerValidation()) {
+            violations.add(String.format("%.0f bytes/validation exceeds budget of %d",
+                    bytesPerValidation(), budget.maxBytesPerValidation()));
+        }
+        if (peakGrowth > budget.maxOldGenGrowthBytes()) {
+            violations.add("old gen growth of " + peakGrowth + " bytes exceeds budget of " + budget.maxOldGenGrowthBytes());
+        }
+        return violations;
+    }
+
+    /**
+     * @return mean number of bytes allocated by a single move
+     */
+    public double bytesPerMove() {
+        return moves == 0 ? 0 : (double) moveBytes / moves;
+    }
+
+    /**
+     * @return mean number of bytes allocated by a single validation
+     */
+    public double bytesPerValidation() {
+        return validations == 0 ? 0 : (double) validationBytes / validations;
+    }
+}
@@ -0,0 +1,24 @@
+package chess.soak;
+
+public record SoakBudget(long maxBytesPerMove, long maxBytesPerValidation, long maxOldGenGrowthBytes) {
+
+    public SoakBudget {
+        if (maxBytesPerMove < 0 || maxBytesPerValidation < 0 || maxOldGenGrowthBytes < 0) {
+            throw new IllegalArgumentException("Budgets cannot be negative");
+        }
+    }
+
+    /**
+     * The factory method creating budgets from system properties chess.soak.bytesPerMove,
+     * chess.soak.bytesPerValidation and chess.soak.oldGenGrowth, using the given defaults for missing ones
+     *
+     * @param defaults budgets used when a property is not set
+     * @return new SoakBudget object
+     */
+    public static SoakBudget fromSystemProperties(SoakBudget defaults) {
+        return new SoakBudget(
+                Long.getLong("chess.soak.bytesPerMove", defaults.maxBytesPerMove()),
+                Long.getLong("chess.soak.bytesPerValidation", defaults.maxBytesPerValidation()),
+                Long.getLong("chess.soak.oldGenGrowth", defaults.maxOldGenGrowthBytes()));
+    }
+}
@@ -0,0 +1,45 @@
+package chess.tournament;
+
+import chess.engine.SearchLimits;
+
+public record EngineSettings(String name, SearchLimits limits) {
+
+    public EngineSettings {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Engine name cannot be empty");
+        }
+        if (limits == null) {
+            throw new IllegalArgumentException("Search limits cannot be null");
+        }
+    }
+
+    /**
+     * The method translates String object in format "name:depth:nodes:millis" into EngineSettings object.
+     * Nodes and millis can be "-" when there should be no such limit.
+     *
+     * @param settings String object representing the settings, for example "fast:4:20000:-"
+     * @return EngineSettings object representing the settings
+     */
+    public static EngineSettings parse(String settings) {
+        String[] parts = settings.split(":");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("No such engine settings");
+        }
+        try {
+            return new EngineSettings(parts[0], new SearchLimits(
+                    Integer.parseInt(parts[1]), parseLimit(parts[2]), parseLimit(parts[3])));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("No such engine settings", e);
+        }
+    }
+
+    /**
+     * The method translates a single limit, "-" meaning no limit
+     *
+     * @param limit String object representing the limit
+     * @return the limit or SearchLimits.UNLIMITED
+     */
+    private static long parseLimit(String limit) {
+        return limit.equals("-") ? SearchLimits.UNLIMITED : Long.parseLong(limit);
+    }
+}
@@ -0,0 +1,32 @@
+package chess.tournament;
+
+import chess.enums.ChessPieceColor;
+import chess.enums.TheStateOfTheGame;
+
+public record GameResult(EngineSettings white, EngineSettings black, String opening,
+                         TheStateOfTheGame state, ChessPieceColor winner, int plies) {
+
+    /**
+     * The method returns points scored by the given color, 1 for a win, 0.5 for a draw and 0 for a loss
+     *
+     * @param color color to score
+     * @return points of the color
+     */
+    public double score(ChessPieceColor color) {
+        if (winner == null) {
+            return 0.5;
+        }
+        return winner == color ? 1 : 0;
+    }
+
+    /**
+     * The method returns String representation of this result, fields separated by tabs
+     *
+     * @return String representation of this result
+     */
+    @Override
+    public String toString() {
+        String result = winner == null ? "1/2-1/2" : winner == ChessPieceColor.WHITE ? "1-0" : "0-1";
+        return white.name() + '\t' + black.name() + '\t' + result + '\t' + state + '\t' + plies + '\t' + opening;
+    }
+}
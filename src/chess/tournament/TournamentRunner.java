@@ -0,0 +1,239 @@
+package chess.tournament;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.FenNotation;
+import chess.engine.ChessEngine;
+import chess.engine.SearchResult;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.enums.TheStateOfTheGame;
+import chess.navigation.BoundVector;
+import chess.validation.ChessArbiter;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+public class TournamentRunner {
+
+    //a random first move for each side, engines searching to a fixed depth would otherwise replay the same game
+    private static final int RANDOM_PLIES = 2;
+
+    private final List<EngineSettings> engines;
+    private final List<String> openings;
+    private final int threads;
+    private final int maxPlies;
+    private final int rounds;
+    private final long seed;
+
+    /**
+     * The TournamentRunner constructor. In every round every pair of engines plays every opening twice,
+     * once with each color. Every round starts the openings with a random first move for each side,
+     * both games of a pair start from the same position, so rounds give different games
+     * even between engines that always choose the same move.
+     * Every engine must have its own name, the summary tells the engines apart by their names.
+     *
+     * @param engines  engines taking part in the tournament, with distinct names
+     * @param openings starting positions in Forsyth-Edwards Notation
+     * @param threads  number of games played at the same time
+     * @param maxPlies number of plies after which a game is adjudicated as a draw
+     * @param rounds   number of times every pair plays every opening
+     * @param seed     seed of the random first moves, the same seed gives the same games
+     */
+    public TournamentRunner(List<EngineSettings> engines, List<String> openings, int threads, int maxPlies,
+                            int rounds, long seed) {
+        if (engines.size() < 2) {
+            throw new IllegalArgumentException("At least two engines are needed");
+        }
+        Set<String> names = new HashSet<>();
+        for (EngineSettings engine : engines) {
+            //results are summed up by name, two engines with the same name would be merged into one
+            if (!names.add(engine.name())) {
+                throw new IllegalArgumentException("Engine name " + engine.name() + " is used more than once");
+            }
+        }
+        if (openings.isEmpty()) {
+            throw new IllegalArgumentException("At least one opening is needed");
+        }
+        if (threads < 1 || maxPlies < 1 || rounds < 1) {
+            throw new IllegalArgumentException("Number of threads, plies and rounds must be positive");
+        }
+        for (String opening : openings) {
+            FenNotation.getChessBoard(opening);
+        }
+        this.engines = List.copyOf(engines);
+        this.openings = List.copyOf(openings);
+        this.threads = threads;
+        this.maxPlies = maxPlies;
+        this.rounds = rounds;
+        this.seed = seed;
+    }
+
+    /**
+     * The method makes random legal moves from an opening, fewer if the game ends
+     *
+     * @param opening starting position in Forsyth-Edwards Notation
+     * @param random  source of the moves
+     * @return position after the moves in Forsyth-Edwards Notation
+     */
+    static String randomizeOpening(String opening, Random random) {
+        ChessBoard chessBoard = FenNotation.getChessBoard(opening);
+        for (int i = 0; i < RANDOM_PLIES; i++) {
+            BoundVector[] moves = ChessArbiter.strictlyLegalMoves(chessBoard);
+            if (moves.length == 0) {
+                break;
+            }
+            BoundVector move = moves[random.nextInt(moves.length)];
+            chessBoard = ChessDoer.makeStandardChessMove(chessBoard, move, () -> ChessType.QUEEN);
+        }
+        return FenNotation.getFen(chessBoard);
+    }
+
+    /**
+     * The method plays a single game between two engines. The game ends with checkmate or stalemate
+     * as decided by the rules engine, or is adjudicated as a draw after maxPlies plies,
+     * in which case its state stays PLAYING.
+     *
+     * @param white   engine playing whites
+     * @param black   engine playing blacks
+     * @param opening starting position in Forsyth-Edwards Notation
+     * @return result of the game
+     */
+    GameResult playGame(EngineSettings white, EngineSettings black, String opening) {
+        ChessBoard chessBoard = FenNotation.getChessBoard(opening);
+        ChessEngine whiteEngine = new ChessEngine();
+        ChessEngine blackEngine = new ChessEngine();
+        TheStateOfTheGame state = TheStateOfTheGame.PLAYING;
+        int plies = 0;
+        while (plies < maxPlies) {
+            //only destinations the chesspieces can reach are checked, not every position of the chessboard
+            if (ChessArbiter.strictlyLegalMoves(chessBoard).length == 0) {
+                state = ChessArbiter.isCurrentKingInCheck(chessBoard)
+                        ? TheStateOfTheGame.CHECKMATE : TheStateOfTheGame.STALEMATE;
+                break;
+            }
+            boolean whiteToMove = chessBoard.getCurrentColor() == ChessPieceColor.WHITE;
+            SearchResult result = whiteToMove
+                    ? whiteEngine.search(chessBoard, white.limits())
+                    : blackEngine.search(chessBoard, black.limits());
+            BoundVector move = result.bestMove();
+            chessBoard = ChessDoer.makeStandardChessMove(chessBoard, move, () -> ChessType.QUEEN);
+            plies++;
+        }
+        ChessPieceColor winner = state == TheStateOfTheGame.CHECKMATE ? chessBoard.getCurrentColor().oppositeColor() : null;
+        return new GameResult(white, black, opening, state, winner, plies);
+    }
+
+    /**
+     * The method plays the whole tournament on a fixed thread pool, one game per thread at a time,
+     * and passes every finished game to the listener as soon as it ends
+     *
+     * @param listener receives results of finished games, called from the thread running the tournament
+     * @return results of all the games in the order they finished
+     * @throws InterruptedException if the thread running the tournament is interrupted
+     */
+    public List<GameResult> run(Consumer<GameResult> listener) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<GameResult> completion = new ExecutorCompletionService<>(executor);
+        Random random = new Random(seed);
+        int games = 0;
+        try {
+            for (int round = 0; round < rounds; round++) {
+                //every pair gets the same positions, so the round is fair to all the engines
+                List<String> starts = new ArrayList<>(openings.size());
+                for (String opening : openings) {
+                    starts.add(randomizeOpening(opening, random));
+                }
+                for (int i = 0; i < engines.size(); i++) {
+                    for (int j = i + 1; j < engines.size(); j++) {
+                        for (String start : starts) {
+                            EngineSettings first = engines.get(i);
+                            EngineSettings second = engines.get(j);
+                            completion.submit(() -> playGame(first, second, start));
+                            completion.submit(() -> playGame(second, first, start));
+                            games += 2;
+                        }
+                    }
+                }
+            }
+            List<GameResult> results = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                GameResult result = completion.take().get();
+                results.add(result);
+                listener.accept(result);
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The method prints a table with the score of every engine and its Elo estimate
+     * relative to the average of its opponents, with a 95% confidence interval
+     *
+     * @param results      results of the games
+     * @param elapsedNanos time the tournament took in nanoseconds
+     * @param out          stream the table is printed to
+     */
+    public static void printSummary(List<GameResult> results, long elapsedNanos, PrintStream out) {
+        Map<String, double[]> stats = new LinkedHashMap<>();
+        for (GameResult result : results) {
+            addGame(stats, result.white().name(), result.score(ChessPieceColor.WHITE));
+            addGame(stats, result.black().name(), result.score(ChessPieceColor.BLACK));
+        }
+        double hours = Math.max(elapsedNanos, 1) / 3.6e12;
+        out.printf("%d games in %.1f s, %.0f games/hour%n", results.size(), elapsedNanos / 1e9, results.size() / hours);
+        out.printf("%-16s %6s %6s %6s %6s %8s %8s%n", "engine", "games", "wins", "draws", "losses", "score", "elo");
+        for (Map.Entry<String, double[]> entry : stats.entrySet()) {
+            double[] s = entry.getValue();
+            double n = s[0];
+            double score = (s[1] + 0.5 * s[2]) / n;
+            double variance = (s[1] * Math.pow(1 - score, 2) + s[2] * Math.pow(0.5 - score, 2)
+                    + s[3] * Math.pow(score, 2)) / n;
+            double margin = 1.96 * Math.sqrt(variance / n);
+            double elo = eloDifference(score);
+            double error = (eloDifference(score + margin) - eloDifference(score - margin)) / 2;
+            out.printf("%-16s %6d %6d %6d %6d %7.1f%% %+6.0f +/-%.0f%n",
+                    entry.getKey(), (int) n, (int) s[1], (int) s[2], (int) s[3], 100 * score, elo, error);
+        }
+    }
+
+    /**
+     * The method adds a single game to the statistics of an engine: games, wins, draws, losses
+     *
+     * @param stats statistics of all the engines
+     * @param name  name of the engine
+     * @param score points the engine scored in the game
+     */
+    private static void addGame(Map<String, double[]> stats, String name, double score) {
+        double[] s = stats.computeIfAbsent(name, key -> new double[4]);
+        s[0]++;
+        s[score == 1 ? 1 : score == 0 ? 3 : 2]++;
+    }
+
+    /**
+     * The method translates expected score into Elo difference, scores are clamped to avoid infinite values
+     *
+     * @param score expected score between 0 and 1
+     * @return Elo difference
+     */
+    private static double eloDifference(double score) {
+        double clamped = Math.min(Math.max(score, 0.001), 0.999);
+        return -400 * Math.log10(1 / clamped - 1);
+    }
+}
@@ -0,0 +1,177 @@
+package chess.validation;
+
+import chess.enums.ChessPieceColor;
+import chess.navigation.Position;
+
+/**
+ * Precomputed bitboards of the squares chesspieces attack, rays in the eight directions and squares
+ * between two aligned squares, with bit y * 8 + x standing for position (x, y).
+ * The tables are computed once when the class is initialized, which takes well under a millisecond.
+ */
+public final class AttackTables {
+
+    // Directions of the rays: north, south, east, west, north-east, north-west, south-east, south-west
+    private static final int[] DX = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final int[] DY = {1, -1, 0, 0, 1, 1, -1, -1};
+
+    private static final int KNIGHT = 0;
+    private static final int KING = 64;
+    private static final int PAWN = 128;
+    private static final int RAYS = 256;
+    private static final int BETWEEN = RAYS + 8 * 64;
+    private static final int LENGTH = BETWEEN + 64 * 64;
+
+    //positions are immutable, so scans of the chessboard share them instead of allocating 64 of them every time
+    private static final Position[] POSITIONS = new Position[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            POSITIONS[square] = new Position(square % 8, square / 8);
+        }
+    }
+
+    private static final AttackTables TABLES = new AttackTables(compute());
+
+    private final long[] tables;
+
+    private AttackTables(long[] tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * The method returns the tables, computed when the class was initialized
+     *
+     * @return the tables
+     */
+    public static AttackTables get() {
+        return TABLES;
+    }
+
+    /**
+     * The method returns the shared position of a square
+     *
+     * @param square index of the square
+     * @return position of the square
+     */
+    static Position position(int square) {
+        return POSITIONS[square];
+    }
+
+    /**
+     * The method returns the squares a knight attacks from a square
+     *
+     * @param square index of the square
+     * @return squares a knight standing on the square attacks
+     */
+    public long knightAttacks(int square) {
+        return tables[KNIGHT + square];
+    }
+
+    /**
+     * The method returns the squares a king attacks from a square
+     *
+     * @param square index of the square
+     * @return squares a king standing on the square attacks
+     */
+    public long kingAttacks(int square) {
+        return tables[KING + square];
+    }
+
+    /**
+     * The method returns the squares a pawn attacks diagonally forward from a square
+     *
+     * @param color  color of the pawn
+     * @param square index of the square
+     * @return squares a pawn of the given color standing on the square attacks
+     */
+    public long pawnAttacks(ChessPieceColor color, int square) {
+        return tables[PAWN + (color == ChessPieceColor.WHITE ? 0 : 64) + square];
+    }
+
+    /**
+     * The method returns the squares a rook would reach from a square on an empty chessboard
+     *
+     * @param square index of the square
+     * @return squares on the same rank or file as the square, the square itself excluded
+     */
+    public long orthogonalRays(int square) {
+        return ray(0, square) | ray(1, square) | ray(2, square) | ray(3, square);
+    }
+
+    /**
+     * The method returns the squares a bishop would reach from a square on an empty chessboard
+     *
+     * @param square index of the square
+     * @return squares on the same diagonals as the square, the square itself excluded
+     */
+    public long diagonalRays(int square) {
+        return ray(4, square) | ray(5, square) | ray(6, square) | ray(7, square);
+    }
+
+    /**
+     * The method returns the squares a slider would pass in one direction on an empty chessboard
+     *
+     * @param direction index of the direction, north, south, east, west, north-east, north-west, south-east, south-west
+     * @param square    index of the square
+     * @return squares from the square to the edge of the chessboard in the direction, the square itself excluded
+     */
+    public long ray(int direction, int square) {
+        return tables[RAYS + direction * 64 + square];
+    }
+
+    /**
+     * The method returns the squares a slider passes on its way from one square to another
+     *
+     * @param from index of the first square
+     * @param to   index of the second square
+     * @return squares strictly between two squares on the same rank, file or diagonal, 0 if they are not aligned
+     */
+    public long between(int from, int to) {
+        return tables[BETWEEN + from * 64 + to];
+    }
+
+    /**
+     * The method computes all the tables, one after another in a single array
+     *
+     * @return the tables
+     */
+    private static long[] compute() {
+        long[] tables = new long[LENGTH];
+        int[][] knightSteps = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+        for (int square = 0; square < 64; square++) {
+            int x = square % 8;
+            int y = square / 8;
+            for (int[] step : knightSteps) {
+                tables[KNIGHT + square] |= bit(x + step[0], y + step[1]);
+            }
+            for (int direction = 0; direction < 8; direction++) {
+                tables[KING + square] |= bit(x + DX[direction], y + DY[direction]);
+                long ray = 0;
+                for (int i = 1; i < 8; i++) {
+                    long next = bit(x + i * DX[direction], y + i * DY[direction]);
+                    if (next == 0) {
+                        break;
+                    }
+                    //every square passed on the way is between the origin and the square reached
+                    tables[BETWEEN + square * 64 + Long.numberOfTrailingZeros(next)] = ray;
+                    ray |= next;
+                }
+                tables[RAYS + direction * 64 + square] = ray;
+            }
+            tables[PAWN + square] = bit(x - 1, y + 1) | bit(x + 1, y + 1);
+            tables[PAWN + 64 + square] = bit(x - 1, y - 1) | bit(x + 1, y - 1);
+        }
+        return tables;
+    }
+
+    /**
+     * The method returns the bitboard of a single square
+     *
+     * @param x column
+     * @param y row
+     * @return bitboard of the square or 0 if it lies outside of the chessboard
+     */
+    private static long bit(int x, int y) {
+        return x < 0 || x > 7 || y < 0 || y > 7 ? 0 : 1L << y * 8 + x;
+    }
+}
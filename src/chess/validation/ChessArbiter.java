@@ -2,13 +2,19 @@ package chess.validation;
 
 import chess.ChessBoard;
 import chess.ChessDoer;
+import chess.FenNotation;
 import chess.enums.ChessPieceColor;
 import chess.enums.ChessType;
+import chess.metrics.GameEndCheckEvent;
+import chess.metrics.MoveValidationEvent;
+import chess.metrics.RulesEngineMetrics;
+import chess.metrics.WorkTally;
 import chess.navigation.BoundVector;
 import chess.navigation.Position;
 
 import java.util.Arrays;
 
+import static chess.validation.ChessArbiterHelper.candidateDestinations;
 import static chess.validation.ChessArbiterHelper.isLooselyLegalMove;
 import static chess.validation.ChessArbiterHelper.isPositionUnderAttack;
 
@@ -50,6 +56,42 @@ public interface ChessArbiter {
      * @return true if the move is legal, otherwise not
      */
     static boolean isStrictlyLegalMove(ChessBoard chessBoard, BoundVector boundVector) {
+        RulesEngineMetrics.countStrictlyLegalMoveCheck();
+        WorkTally.countMove();
+        if (!WorkTally.isRecorderInitialized()) {
+            return checkStrictlyLegalMove(chessBoard, boundVector);
+        }
+        MoveValidationEvent event = new MoveValidationEvent();
+        if (!event.isEnabled()) {
+            return checkStrictlyLegalMove(chessBoard, boundVector);
+        }
+        WorkTally tally = WorkTally.current();
+        long candidates = tally.candidates();
+        long boards = tally.boards();
+        event.begin();
+        boolean legal = checkStrictlyLegalMove(chessBoard, boundVector);
+        event.end();
+        if (event.shouldCommit()) {
+            event.move = chessBoard.isValidBoundVector(boundVector)
+                    ? ChessDoer.getMoveString(boundVector) : String.valueOf(boundVector);
+            event.sideToMove = chessBoard.getCurrentColor().name();
+            event.position = FenNotation.getFen(chessBoard);
+            event.legal = legal;
+            event.candidatesExamined = tally.candidates() - candidates;
+            event.boardsAllocated = tally.boards() - boards;
+            event.commit();
+        }
+        return legal;
+    }
+
+    /**
+     * The method does the actual work of isStrictlyLegalMove
+     *
+     * @param chessBoard  current chessboard
+     * @param boundVector representation of the move
+     * @return true if the move is legal, otherwise not
+     */
+    private static boolean checkStrictlyLegalMove(ChessBoard chessBoard, BoundVector boundVector) {
         if (!isLooselyLegalMove(chessBoard, boundVector, false)) {
             return false;
         }
@@ -93,11 +135,73 @@ public interface ChessArbiter {
      * @return true if the player has 0 legal moves, otherwise false
      */
     static boolean currentPlayerHasNoStrictlyLegalMoves(ChessBoard chessBoard) {
+        if (!WorkTally.isRecorderInitialized()) {
+            return countStrictlyLegalMoves(chessBoard) == 0;
+        }
+        GameEndCheckEvent event = new GameEndCheckEvent();
+        if (!event.isEnabled()) {
+            return countStrictlyLegalMoves(chessBoard) == 0;
+        }
+        WorkTally tally = WorkTally.current();
+        long moves = tally.moves();
+        long candidates = tally.candidates();
+        long boards = tally.boards();
+        event.begin();
+        int possibleMoves = countStrictlyLegalMoves(chessBoard);
+        event.end();
+        if (event.shouldCommit()) {
+            event.sideToMove = chessBoard.getCurrentColor().name();
+            event.position = FenNotation.getFen(chessBoard);
+            event.noLegalMoves = possibleMoves == 0;
+            event.movesExamined = tally.moves() - moves;
+            event.candidatesExamined = tally.candidates() - candidates;
+            event.boardsAllocated = tally.boards() - boards;
+            event.commit();
+        }
+        return possibleMoves == 0;
+    }
+
+    /**
+     * The method counts the moves the current player can make according to the method isStrictlyLegalMove
+     *
+     * @param chessBoard current chessboard
+     * @return number of legal moves
+     */
+    private static int countStrictlyLegalMoves(ChessBoard chessBoard) {
         int possibleMoves = 0;
         Position[] chessPiecePositions = chessBoard.getChessPiecePositionsOfColor(chessBoard.getCurrentColor());
         for (Position chessPiecePosition : chessPiecePositions) {
             possibleMoves += strictlyLegalMoves(chessBoard, chessPiecePosition).length;
         }
-        return possibleMoves == 0;
+        return possibleMoves;
+    }
+
+    /**
+     * The method returns array of bound vectors that represent all the moves the current player can make
+     * according to the method isStrictlyLegalMove. Only destinations the chesspieces could reach
+     * by the way they move are checked, instead of every position of the chessboard.
+     * If there are no legal moves the method returns an empty array
+     *
+     * @param chessBoard current chessboard
+     * @return all the legal moves of the current player
+     */
+    static BoundVector[] strictlyLegalMoves(ChessBoard chessBoard) {
+        Position[] chessPiecePositions = chessBoard.getChessPiecePositionsOfColor(chessBoard.getCurrentColor());
+        BoundVector[] moves = new BoundVector[32];
+        BoundVector boundVector;
+        int count = 0;
+        for (Position origin : chessPiecePositions) {
+            for (Position destination : candidateDestinations(chessBoard, origin)) {
+                boundVector = new BoundVector(origin, destination);
+                if (isStrictlyLegalMove(chessBoard, boundVector)) {
+                    if (count == moves.length) {
+                        moves = Arrays.copyOf(moves, count * 2);
+                    }
+                    moves[count] = boundVector;
+                    count++;
+                }
+            }
+        }
+        return Arrays.copyOf(moves, count);
     }
 }
@@ -4,10 +4,15 @@ import chess.ChessBoard;
 import chess.element.ChessPiece;
 import chess.element.ChessSlot;
 import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.metrics.RulesEngineMetrics;
+import chess.metrics.WorkTally;
 import chess.navigation.BoundVector;
 import chess.navigation.FreeVector;
 import chess.navigation.Position;
 
+import java.util.Arrays;
+
 public interface ChessArbiterHelper {
 
     /**
@@ -156,6 +161,7 @@ public interface ChessArbiterHelper {
      * @return true if the move is legal otherwise false
      */
     static boolean isLooselyLegalMove(ChessBoard chessBoard, BoundVector boundVector, boolean onlyAttacking) {
+        WorkTally.countCandidate();
 
         //this code checks if move is within board boundaries
         if (!chessBoard.isValidBoundVector(boundVector)) {
@@ -180,7 +186,12 @@ public interface ChessArbiterHelper {
     }
 
     /**
-     * The method checks whether a given position might be under attack by a chesspiece of the specified color
+     * The method checks whether a given position might be under attack by a chesspiece of the specified color.
+     * One scan of the chessboard collects bitboards of the attacking chesspieces and of all the occupied squares,
+     * then the precomputed attack sets tell which of them reach the position. The answer is the same
+     * as asking isLooselyLegalMove of every chesspiece of the color with only attacking moves:
+     * a position occupied by a chesspiece of that color is never attacked
+     * and a pawn only attacks a position occupied by an enemy chesspiece.
      *
      * @param chessBoard chessboard on which the position and potential attacking chesspieces are located
      * @param position   position to check
@@ -188,18 +199,119 @@ public interface ChessArbiterHelper {
      * @return true if position is under attack by specified color, otherwise false
      */
     static boolean isPositionUnderAttack(ChessBoard chessBoard, Position position, ChessPieceColor by) {
-        Position[] positions = chessBoard.getAllValidPositions();
-        ChessPiece chessPiece;
-        boolean isAttacked = false;
-        for (Position origin : positions) {
-            chessPiece = chessBoard.getElement(origin).piece();
-            if (chessPiece != null && chessPiece.color() == by) {
-                isAttacked = isLooselyLegalMove(chessBoard, new BoundVector(origin, position), true);
-                if (isAttacked) {
+        RulesEngineMetrics.countPositionUnderAttackScan();
+        AttackTables tables = AttackTables.get();
+        int target = position.y() * 8 + position.x();
+        long occupied = 0;
+        long pawns = 0;
+        long knights = 0;
+        long kings = 0;
+        long orthogonal = 0;
+        long diagonal = 0;
+        for (int square = 0; square < 64; square++) {
+            ChessPiece chessPiece = chessBoard.getElement(AttackTables.position(square)).piece();
+            if (chessPiece == null) {
+                continue;
+            }
+            long bit = 1L << square;
+            occupied |= bit;
+            if (chessPiece.color() != by) {
+                continue;
+            }
+            switch (chessPiece.type()) {
+                case PAWN -> pawns |= bit;
+                case KNIGHT -> knights |= bit;
+                case KING -> kings |= bit;
+                case ROOK -> orthogonal |= bit;
+                case BISHOP -> diagonal |= bit;
+                case QUEEN -> {
+                    orthogonal |= bit;
+                    diagonal |= bit;
+                }
+            }
+        }
+        long own = pawns | knights | kings | orthogonal | diagonal;
+        //every chesspiece of the color is one attack probe, the same as when each of them was asked in turn
+        WorkTally.countCandidates(Long.bitCount(own));
+        long targetBit = 1L << target;
+        if ((own & targetBit) != 0) {
+            return false;
+        }
+        //pawns attacking the target stand where a pawn of the other color on the target would attack
+        if ((occupied & targetBit) != 0 && (tables.pawnAttacks(by.oppositeColor(), target) & pawns) != 0) {
+            return true;
+        }
+        if ((tables.knightAttacks(target) & knights) != 0 || (tables.kingAttacks(target) & kings) != 0) {
+            return true;
+        }
+        long sliders = (tables.orthogonalRays(target) & orthogonal) | (tables.diagonalRays(target) & diagonal);
+        for (; sliders != 0; sliders &= sliders - 1) {
+            if ((tables.between(Long.numberOfTrailingZeros(sliders), target) & occupied) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The method returns positions a chesspiece standing at origin could reach judging only by the way
+     * it moves and by the chesspieces blocking its way. The result is a superset of destinations
+     * of legal moves, so it only narrows down the positions that still have to be checked.
+     * If there is no chesspiece at origin the method returns an empty array
+     *
+     * @param chessBoard chessboard the chesspiece is placed on
+     * @param origin     position of the chesspiece
+     * @return candidate destinations of the chesspiece
+     */
+    static Position[] candidateDestinations(ChessBoard chessBoard, Position origin) {
+        ChessPiece chessPiece = chessBoard.getElement(origin).piece();
+        if (chessPiece == null) {
+            return new Position[0];
+        }
+        FreeVector[] directions;
+        boolean slides = false;
+        switch (chessPiece.type()) {
+            case PAWN -> {
+                int forward = chessPiece.color() == ChessPieceColor.WHITE ? 1 : -1;
+                directions = new FreeVector[]{new FreeVector(0, forward), new FreeVector(0, 2 * forward),
+                        new FreeVector(-1, forward), new FreeVector(1, forward)};
+            }
+            case KNIGHT -> directions = new FreeVector[]{
+                    new FreeVector(1, 2), new FreeVector(2, 1), new FreeVector(2, -1), new FreeVector(1, -2),
+                    new FreeVector(-1, -2), new FreeVector(-2, -1), new FreeVector(-2, 1), new FreeVector(-1, 2)};
+            case ROOK -> {
+                directions = new FreeVector[]{
+                        new FreeVector(1, 0), new FreeVector(-1, 0), new FreeVector(0, 1), new FreeVector(0, -1)};
+                slides = true;
+            }
+            case BISHOP -> {
+                directions = new FreeVector[]{
+                        new FreeVector(1, 1), new FreeVector(-1, 1), new FreeVector(1, -1), new FreeVector(-1, -1)};
+                slides = true;
+            }
+            default -> {
+                directions = new FreeVector[]{
+                        new FreeVector(1, 0), new FreeVector(-1, 0), new FreeVector(0, 1), new FreeVector(0, -1),
+                        new FreeVector(1, 1), new FreeVector(-1, 1), new FreeVector(1, -1), new FreeVector(-1, -1)};
+                slides = chessPiece.type() == ChessType.QUEEN;
+            }
+        }
+        Position[] result = new Position[28];
+        int count = 0;
+        for (FreeVector direction : directions) {
+            Position current = origin.getPositionMovedBy(direction);
+            while (chessBoard.isValidPosition(current)) {
+                ChessPiece other = chessBoard.getElement(current).piece();
+                if (other == null || other.color() != chessPiece.color()) {
+                    result[count] = current;
+                    count++;
+                }
+                if (!slides || other != null) {
                     break;
                 }
+                current = current.getPositionMovedBy(direction);
             }
         }
-        return isAttacked;
+        return Arrays.copyOf(result, count);
     }
 }
@@ -0,0 +1,129 @@
+package chess.validation;
+
+import chess.ChessBoard;
+import chess.FenNotation;
+import chess.enums.ChessPieceColor;
+import chess.metrics.GameEndCheckEvent;
+import chess.metrics.WorkTally;
+import chess.navigation.BoundVector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LegalMoveCache {
+
+    /**
+     * Key of the cache. ChessBoard equality does not take the color on the move into account, so it is added here.
+     */
+    private record PositionKey(ChessBoard chessBoard, ChessPieceColor currentColor) {
+    }
+
+    private final Map<PositionKey, Set<BoundVector>> legalMoves;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The LegalMoveCache constructor. When the cache is full the least recently used position is evicted.
+     *
+     * @param capacity the highest number of positions kept in the cache
+     */
+    public LegalMoveCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.legalMoves = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PositionKey, Set<BoundVector>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * The method returns all the moves the current player can make according to the method
+     * ChessArbiter.isStrictlyLegalMove. They are computed once per position and answered from the cache afterwards.
+     *
+     * @param chessBoard current chessboard
+     * @return set of all the legal moves
+     */
+    public Set<BoundVector> getLegalMoves(ChessBoard chessBoard) {
+        PositionKey key = new PositionKey(chessBoard, chessBoard.getCurrentColor());
+        Set<BoundVector> moves;
+        synchronized (legalMoves) {
+            moves = legalMoves.get(key);
+        }
+        if (moves != null) {
+            hits.increment();
+            return moves;
+        }
+        misses.increment();
+        //the moves are computed outside of the lock, at worst two threads compute the same position
+        moves = Set.of(ChessArbiter.strictlyLegalMoves(chessBoard));
+        synchronized (legalMoves) {
+            legalMoves.put(key, moves);
+        }
+        return moves;
+    }
+
+    /**
+     * The method answers the same question as ChessArbiter.isStrictlyLegalMove,
+     * but in constant time once the position is in the cache
+     *
+     * @param chessBoard  current chessboard
+     * @param boundVector representation of the move
+     * @return true if the move is legal, otherwise not
+     */
+    public boolean isStrictlyLegalMove(ChessBoard chessBoard, BoundVector boundVector) {
+        return boundVector != null && getLegalMoves(chessBoard).contains(boundVector);
+    }
+
+    /**
+     * The method answers the same question as ChessArbiter.currentPlayerHasNoStrictlyLegalMoves
+     * from the legal moves in the cache, and is recorded by the flight recorder the same way
+     *
+     * @param chessBoard current chessboard
+     * @return true if the player has 0 legal moves, otherwise false
+     */
+    public boolean currentPlayerHasNoLegalMoves(ChessBoard chessBoard) {
+        if (!WorkTally.isRecorderInitialized()) {
+            return getLegalMoves(chessBoard).isEmpty();
+        }
+        GameEndCheckEvent event = new GameEndCheckEvent();
+        if (!event.isEnabled()) {
+            return getLegalMoves(chessBoard).isEmpty();
+        }
+        WorkTally tally = WorkTally.current();
+        long moves = tally.moves();
+        long candidates = tally.candidates();
+        long boards = tally.boards();
+        event.begin();
+        boolean noLegalMoves = getLegalMoves(chessBoard).isEmpty();
+        event.end();
+        if (event.shouldCommit()) {
+            event.sideToMove = chessBoard.getCurrentColor().name();
+            event.position = FenNotation.getFen(chessBoard);
+            event.noLegalMoves = noLegalMoves;
+            event.movesExamined = tally.moves() - moves;
+            event.candidatesExamined = tally.candidates() - candidates;
+            event.boardsAllocated = tally.boards() - boards;
+            event.commit();
+        }
+        return noLegalMoves;
+    }
+
+    /**
+     * @return number of positions answered from the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of positions whose legal moves had to be computed
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,78 @@
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Runs every public static no-argument method of the test classes listed below and exits with status 1
+ * if any of them throws. The tests need no library, from the root of the project:
+ * <pre>
+ * javac -d out $(find src -name '*.java')
+ * javac -cp out -d test-out $(find test -name '*.java')
+ * java -cp out:test-out RunTests
+ * </pre>
+ * The vector batch evaluator and accumulator kernel are tested too once src-vector is compiled into out
+ * and the tests run with --add-modules jdk.incubator.vector.
+ */
+public class RunTests {
+
+    private static final List<String> TEST_CLASSES = List.of(
+            "chess.ChessPlayTest",
+            "chess.batch.BatchEvaluatorTest",
+            "chess.engine.ChessEngineTest",
+            "chess.engine.MateSolverTest",
+            "chess.evaluation.IncrementalEvaluatorTest",
+            "chess.evaluation.PawnHashTableTest",
+            "chess.evaluation.PawnStructureTest",
+            "chess.evaluation.StaticExchangeTest",
+            "chess.events.BoardDeltaTest",
+            "chess.events.DeltaPublisherTest",
+            "chess.history.MoveHistoryTest",
+            "chess.metrics.LatencyHistogramTest",
+            "chess.metrics.RulesEngineMetricsTest",
+            "chess.metrics.WorkTallyTest",
+            "chess.nnue.NnueEvaluatorTest",
+            "chess.tournament.TournamentRunnerTest",
+            "chess.validation.AttackTablesTest",
+            "chess.validation.LegalMoveCacheTest"
+    );
+
+    /**
+     * The main method of the tests
+     *
+     * @param args names of test classes to run instead of all of them
+     * @throws ClassNotFoundException if a test class does not exist
+     */
+    public static void main(String[] args) throws ClassNotFoundException {
+        int passed = 0;
+        int failed = 0;
+        for (String name : args.length > 0 ? List.of(args) : TEST_CLASSES) {
+            Method[] methods = Class.forName(name).getDeclaredMethods();
+            Arrays.sort(methods, Comparator.comparing(Method::getName));
+            for (Method method : methods) {
+                int modifiers = method.getModifiers();
+                if (!Modifier.isPublic(modifiers) || !Modifier.isStatic(modifiers) || method.getParameterCount() != 0) {
+                    continue;
+                }
+                String test = name + "." + method.getName();
+                try {
+                    method.invoke(null);
+                    passed++;
+                    System.out.println("passed " + test);
+                } catch (InvocationTargetException e) {
+                    failed++;
+                    System.out.println("FAILED " + test + ": " + e.getCause());
+                    e.getCause().printStackTrace(System.out);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Test " + test + " cannot be called", e);
+                }
+            }
+        }
+        System.out.println(passed + " passed, " + failed + " failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package chess;
+
+import java.util.Objects;
+
+public final class Assertions {
+
+    /**
+     * Private Assertions constructor, the class only holds static methods
+     */
+    private Assertions() {
+    }
+
+    /**
+     * The method fails the test if the condition does not hold
+     *
+     * @param condition condition that must hold
+     * @param message   description of the failure
+     */
+    public static void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * The method fails the test if the condition holds
+     *
+     * @param condition condition that must not hold
+     * @param message   description of the failure
+     */
+    public static void assertFalse(boolean condition, String message) {
+        assertTrue(!condition, message);
+    }
+
+    /**
+     * The method fails the test if the two values are not equal
+     *
+     * @param expected expected value
+     * @param actual   actual value
+     * @param message  description of the failure
+     */
+    public static void assertEquals(Object expected, Object actual, String message) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * The method fails the test if the action does not throw an exception of the given type
+     *
+     * @param type    type of the expected exception
+     * @param action  action that must throw
+     * @param message description of the failure
+     */
+    public static void assertThrows(Class<? extends Throwable> type, Runnable action, String message) {
+        try {
+            action.run();
+        } catch (Throwable e) {
+            if (type.isInstance(e)) {
+                return;
+            }
+            throw new AssertionError(message + ": expected " + type.getSimpleName() + " but got " + e, e);
+        }
+        throw new AssertionError(message + ": expected " + type.getSimpleName() + " but nothing was thrown");
+    }
+}
@@ -0,0 +1,32 @@
+package chess;
+
+import chess.enums.TheStateOfTheGame;
+import chess.events.BoardDelta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertTrue;
+
+public class ChessPlayTest {
+
+    /**
+     * Making a mating move again after taking it back ends the game, and observers are told so
+     * in the same delta that puts the move back on the chessboard
+     */
+    public static void redoneCheckmateIsPublishedAsCheckmate() {
+        ChessPlay game = new ChessPlay();
+        for (String move : new String[]{"f2f3", "e7e5", "g2g4", "d8h4"}) {
+            game.chessBoard = game.history.makeMove(ChessDoer.getBoundVector(move), () -> null);
+        }
+        assertTrue(game.takeBack(), "mating move taken back");
+        assertEquals(TheStateOfTheGame.PLAYING, game.stateOfTheGame, "state after the takeback");
+        List<BoardDelta> deltas = new ArrayList<>();
+        game.addObserver(deltas::add);
+        assertTrue(game.redo(), "mating move made again");
+        assertEquals(TheStateOfTheGame.CHECKMATE, game.stateOfTheGame, "state after the move made again");
+        assertEquals(1, deltas.size(), "deltas published");
+        assertEquals(TheStateOfTheGame.CHECKMATE, deltas.get(0).state(), "state in the delta");
+    }
+}
@@ -0,0 +1,63 @@
+package chess;
+
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.validation.ChessArbiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+public final class RandomGames {
+
+    private static final ChessType[] PROMOTIONS = {ChessType.QUEEN, ChessType.ROOK, ChessType.BISHOP, ChessType.KNIGHT};
+
+    /**
+     * Private RandomGames constructor, the class only holds static methods
+     */
+    private RandomGames() {
+    }
+
+    /**
+     * The method picks a random legal move of the current player and a random promotion type
+     * and passes them to whatever makes the move, so games go through captures and all the promotions
+     *
+     * @param chessBoard current chessboard
+     * @param random     source of the moves, seeded by the test so the games are the same on every run
+     * @param mover      makes the move, for example MoveHistory::makeMove
+     * @return chessboard after the move or null if the current player has no legal moves
+     */
+    public static ChessBoard playRandomMove(ChessBoard chessBoard, Random random,
+                                            BiFunction<BoundVector, PromotionTypeProvider, ChessBoard> mover) {
+        BoundVector[] moves = ChessArbiter.strictlyLegalMoves(chessBoard);
+        if (moves.length == 0) {
+            return null;
+        }
+        ChessType promotion = PROMOTIONS[random.nextInt(PROMOTIONS.length)];
+        return mover.apply(moves[random.nextInt(moves.length)], () -> promotion);
+    }
+
+    /**
+     * The method plays random legal moves one after another and collects every chessboard of the game
+     *
+     * @param chessBoard chessboard the game starts from
+     * @param random     source of the moves
+     * @param plies      number of moves to make, fewer if the game ends
+     * @param mover      makes the moves
+     * @return chessboards of the game, the one it starts from included
+     */
+    public static List<ChessBoard> playRandomGame(ChessBoard chessBoard, Random random, int plies,
+                                                  BiFunction<BoundVector, PromotionTypeProvider, ChessBoard> mover) {
+        List<ChessBoard> boards = new ArrayList<>();
+        boards.add(chessBoard);
+        for (int i = 0; i < plies; i++) {
+            ChessBoard next = playRandomMove(boards.get(boards.size() - 1), random, mover);
+            if (next == null) {
+                break;
+            }
+            boards.add(next);
+        }
+        return boards;
+    }
+}
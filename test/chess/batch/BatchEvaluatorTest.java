@@ -0,0 +1,62 @@
+package chess.batch;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.validation.ChessArbiter;
+
+import java.util.Random;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertTrue;
+
+public class BatchEvaluatorTest {
+
+    /**
+     * Without the Vector API module the factory gives the scalar evaluator instead of failing
+     */
+    public static void createFallsBackWithoutVectorModule() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            assertTrue(BatchEvaluator.create() instanceof ScalarBatchEvaluator, "scalar evaluator");
+        }
+    }
+
+    /**
+     * The evaluator picked by the factory scores a batch holding only the starting position 0
+     */
+    public static void batchOfTheStartingPositionScoresZero() {
+        BoardBatch batch = new BoardBatch(1);
+        batch.add(ChessBoard.create());
+        int[] scores = new int[1];
+        BatchEvaluator.create().evaluate(batch, scores);
+        assertEquals(0, scores[0], "starting position");
+    }
+
+    /**
+     * Whichever evaluator the factory picks, it scores every chessboard the same as the scalar one,
+     * the chessboards left over after the last full vector included
+     */
+    public static void factoryEvaluatorMatchesScalar() {
+        Random random = new Random(38);
+        BoardBatch batch = new BoardBatch(1001);
+        ChessBoard chessBoard = ChessBoard.create();
+        while (batch.size() < batch.capacity()) {
+            BoundVector[] moves = ChessArbiter.strictlyLegalMoves(chessBoard);
+            if (moves.length == 0 || random.nextInt(100) == 0) {
+                chessBoard = ChessBoard.create();
+                continue;
+            }
+            chessBoard = ChessDoer.makeStandardChessMove(chessBoard, moves[random.nextInt(moves.length)], () -> ChessType.QUEEN);
+            batch.add(chessBoard);
+        }
+        int[] expected = new int[batch.size()];
+        int[] actual = new int[batch.size()];
+        new ScalarBatchEvaluator().evaluate(batch, expected);
+        BatchEvaluator evaluator = BatchEvaluator.create();
+        evaluator.evaluate(batch, actual);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], evaluator.getClass().getSimpleName() + " chessboard " + i);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package chess.engine;
+
+import chess.ChessBoard;
+
+import java.util.List;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertTrue;
+
+public class ChessEngineTest {
+
+    /**
+     * A limit reached during depth 1 still gives every requested line, searched to depth 1
+     */
+    public static void depthOneCompletesForEveryLine() {
+        List<SearchResult> lines = new ChessEngine().analyze(ChessBoard.create(), 3,
+                new SearchLimits(10, 1, SearchLimits.UNLIMITED), found -> {
+                });
+        assertEquals(3, lines.size(), "lines");
+        for (SearchResult line : lines) {
+            assertEquals(1, line.depth(), "depth of " + line.bestMove());
+        }
+        assertTrue(lines.get(0).score() >= lines.get(2).score(), "best line first");
+    }
+
+    /**
+     * A stop requested before the search still lets depth 1 complete
+     */
+    public static void stopBeforeSearchStillCompletesDepthOne() {
+        ChessEngine engine = new ChessEngine();
+        engine.stop();
+        SearchResult result = engine.search(ChessBoard.create(), SearchLimits.depth(10));
+        assertEquals(1, result.depth(), "depth");
+        assertEquals(result.bestMove(), result.principalVariation().get(0), "principal variation");
+    }
+}
@@ -0,0 +1,102 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.FenNotation;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.validation.ChessArbiter;
+
+import java.util.List;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertFalse;
+import static chess.Assertions.assertThrows;
+import static chess.Assertions.assertTrue;
+
+public class MateSolverTest {
+
+    //the rook mates on h8 or a1 only after the white king has taken b7 from the black king
+    private static final String ROOK_MATE_IN_TWO = "k7/8/2K5/8/8/8/8/7R w - - 0 1";
+
+    /**
+     * A back rank mate has a single key move, so the puzzle is sound
+     */
+    public static void backRankMateInOneIsUnique() {
+        MateSolution solution = new MateSolver(100_000).solve(FenNotation.getChessBoard("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), 1);
+        assertEquals(List.of("a1a8"), keyMoves(solution), "key moves");
+        assertTrue(solution.complete(), "complete");
+        assertTrue(solution.isUnique(), "unique");
+    }
+
+    /**
+     * The rook alone cannot mate in one, but two king moves force mate in two, so the puzzle is not sound
+     */
+    public static void rookMateNeedsTwoMoves() {
+        ChessBoard chessBoard = FenNotation.getChessBoard(ROOK_MATE_IN_TWO);
+        MateSolution inOne = new MateSolver(100_000).solve(chessBoard, 1);
+        assertEquals(List.of(), keyMoves(inOne), "mate in one");
+        assertTrue(inOne.complete(), "mate in one complete");
+        MateSolution inTwo = new MateSolver(100_000).solve(chessBoard, 2);
+        assertEquals(List.of("c6b6", "c6c7"), keyMoves(inTwo).stream().sorted().toList(), "mate in two");
+        assertTrue(inTwo.complete(), "mate in two complete");
+        assertFalse(inTwo.isUnique(), "two key moves");
+    }
+
+    /**
+     * After every key move each reply of the defender runs into a checkmate on the next move
+     */
+    public static void everyReplyToKeyMoveIsMated() {
+        ChessBoard chessBoard = FenNotation.getChessBoard(ROOK_MATE_IN_TWO);
+        for (MateSolution.KeyMove keyMove : new MateSolver(100_000).solve(chessBoard, 2).keyMoves()) {
+            ChessBoard afterKey = ChessDoer.makeStandardChessMove(chessBoard, keyMove.move(), () -> ChessType.QUEEN);
+            BoundVector[] replies = ChessArbiter.strictlyLegalMoves(afterKey);
+            assertTrue(replies.length > 0, keyMove + " does not stalemate");
+            for (BoundVector reply : replies) {
+                ChessBoard afterReply = ChessDoer.makeStandardChessMove(afterKey, reply, () -> ChessType.QUEEN);
+                boolean mated = false;
+                for (BoundVector move : ChessArbiter.strictlyLegalMoves(afterReply)) {
+                    ChessBoard end = ChessDoer.makeStandardChessMove(afterReply, move, () -> ChessType.QUEEN);
+                    mated |= ChessArbiter.isCurrentKingInCheck(end) && ChessArbiter.currentPlayerHasNoStrictlyLegalMoves(end);
+                }
+                assertTrue(mated, keyMove + " " + ChessDoer.getMoveString(reply));
+            }
+        }
+    }
+
+    /**
+     * Nothing mates in two from the starting position, and every root move is disproven
+     */
+    public static void noMateFromStartingPosition() {
+        MateSolution solution = new MateSolver(1_000_000).solve(ChessBoard.create(), 2);
+        assertEquals(List.of(), keyMoves(solution), "key moves");
+        assertTrue(solution.complete(), "complete");
+        assertFalse(solution.isUnique(), "no mate is not a sound puzzle");
+    }
+
+    /**
+     * A node limit too low to decide every root move gives an incomplete solution instead of a wrong one
+     */
+    public static void nodeLimitGivesIncompleteSolution() {
+        MateSolution solution = new MateSolver(3).solve(FenNotation.getChessBoard(ROOK_MATE_IN_TWO), 2);
+        assertFalse(solution.complete(), "complete");
+        assertFalse(solution.isUnique(), "unique");
+    }
+
+    /**
+     * Mate in zero moves is not a puzzle
+     */
+    public static void nonPositiveMovesThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new MateSolver(10).solve(ChessBoard.create(), 0), "mate in 0");
+    }
+
+    /**
+     * The method returns the key moves of a solution as move strings
+     *
+     * @param solution the solution
+     * @return key moves in the order of the solution
+     */
+    private static List<String> keyMoves(MateSolution solution) {
+        return solution.keyMoves().stream().map(MateSolution.KeyMove::toString).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package chess.evaluation;
+
+import chess.ChessBoard;
+import chess.FenNotation;
+import chess.RandomGames;
+
+import java.util.Random;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertThrows;
+
+public class IncrementalEvaluatorTest {
+
+    /**
+     * Material and piece-square terms of the symmetric starting position cancel out
+     */
+    public static void symmetricStartEvaluatesToZero() {
+        assertEquals(0, new IncrementalEvaluator(ChessBoard.create()).evaluateForWhite(), "starting position");
+    }
+
+    /**
+     * Along random games, updating the totals by the chesspieces each move removed and added gives
+     * the evaluation of a full recompute, and undoing restores the saved totals
+     */
+    public static void matchesFullRecomputeAlongRandomGames() {
+        Random random = new Random(26);
+        for (int game = 0; game < 20; game++) {
+            IncrementalEvaluator evaluator = new IncrementalEvaluator(ChessBoard.create());
+            int[] scores = new int[120];
+            int plies = 0;
+            while (plies < scores.length) {
+                scores[plies] = evaluator.evaluateForWhite();
+                ChessBoard next = RandomGames.playRandomMove(evaluator.getChessBoard(), random, evaluator::makeMove);
+                if (next == null) {
+                    break;
+                }
+                plies++;
+                assertEquals(new IncrementalEvaluator(next).evaluateForWhite(), evaluator.evaluateForWhite(),
+                        "game " + game + " ply " + plies + " " + FenNotation.getFen(next));
+            }
+            while (evaluator.getPly() > 0) {
+                evaluator.undoMove();
+                assertEquals(scores[evaluator.getPly()], evaluator.evaluateForWhite(),
+                        "game " + game + " undo to ply " + evaluator.getPly());
+            }
+        }
+    }
+
+    /**
+     * A new evaluator has no saved totals, so there is no move to undo
+     */
+    public static void undoBeforeFirstMoveThrows() {
+        IncrementalEvaluator evaluator = new IncrementalEvaluator(ChessBoard.create());
+        assertThrows(IllegalStateException.class, evaluator::undoMove, "undo at ply 0");
+    }
+}
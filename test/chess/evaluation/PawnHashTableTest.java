@@ -0,0 +1,58 @@
+package chess.evaluation;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertFalse;
+import static chess.Assertions.assertThrows;
+import static chess.Assertions.assertTrue;
+
+public class PawnHashTableTest {
+
+    private static final long WHITE = 0x000000000000FF00L;
+    private static final long BLACK = 0x00FF000000000000L;
+    private static final long WHITE_AFTER_E4 = 0x000000001000EF00L;
+
+    /**
+     * The first lookup of a structure computes it and the second one answers from the table,
+     * also for the structure without any pawns, which the empty slots must not be mistaken for
+     */
+    public static void repeatedStructureIsAHit() {
+        PawnHashTable table = new PawnHashTable(64);
+        assertEquals(PawnStructure.evaluate(WHITE_AFTER_E4, BLACK), table.probe(WHITE_AFTER_E4, BLACK), "computed");
+        assertEquals(PawnStructure.evaluate(WHITE_AFTER_E4, BLACK), table.probe(WHITE_AFTER_E4, BLACK), "from the table");
+        table.probe(0, 0);
+        assertEquals(2L, table.getMisses(), "misses");
+        assertEquals(1L, table.getHits(), "hits");
+    }
+
+    /**
+     * Structures sharing a slot replace each other, each lookup still gives the score of its own structure
+     */
+    public static void newStructureReplacesTheOldOne() {
+        PawnHashTable table = new PawnHashTable(1);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(PawnStructure.evaluate(WHITE, BLACK), table.probe(WHITE, BLACK), "start " + i);
+            assertEquals(PawnStructure.evaluate(WHITE_AFTER_E4, BLACK), table.probe(WHITE_AFTER_E4, BLACK), "e4 " + i);
+        }
+        assertEquals(0L, table.getHits(), "hits");
+        assertEquals(6L, table.getMisses(), "misses");
+        table.probe(WHITE_AFTER_E4, BLACK);
+        assertEquals(1L, table.getHits(), "last structure kept");
+    }
+
+    /**
+     * The size must be a power of two and every thread gets a table of its own
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the other thread
+     */
+    public static void tablesArePerThreadPowersOfTwo() throws InterruptedException {
+        assertThrows(IllegalArgumentException.class, () -> new PawnHashTable(0), "size 0");
+        assertThrows(IllegalArgumentException.class, () -> new PawnHashTable(48), "size 48");
+        PawnHashTable own = PawnHashTable.forCurrentThread();
+        assertTrue(own == PawnHashTable.forCurrentThread(), "same thread");
+        PawnHashTable[] other = new PawnHashTable[1];
+        Thread thread = new Thread(() -> other[0] = PawnHashTable.forCurrentThread());
+        thread.start();
+        thread.join();
+        assertFalse(own == other[0], "other thread");
+    }
+}
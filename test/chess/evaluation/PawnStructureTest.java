@@ -0,0 +1,121 @@
+package chess.evaluation;
+
+import chess.ChessBoard;
+import chess.FenNotation;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.navigation.Position;
+
+import java.util.Random;
+
+import static chess.Assertions.assertEquals;
+
+public class PawnStructureTest {
+
+    /**
+     * Every pawn beyond the first on a file costs the doubled penalty once, the pawns on the adjacent file
+     * keep them from being isolated and the enemy pawns in front keep them from being passed
+     */
+    public static void extraPawnsOnAFileAreDoubled() {
+        assertScore(-10, -25, "4k3/1ppp4/8/8/8/2P5/2PP4/4K3 w - - 0 1", "doubled");
+        assertScore(-20, -50, "4k3/1ppp4/8/8/2P5/2P5/2PP4/4K3 w - - 0 1", "tripled");
+    }
+
+    /**
+     * Pawns with no pawn of their color on an adjacent file are isolated, each of them is penalized
+     */
+    public static void pawnsWithoutNeighboursAreIsolated() {
+        assertScore(-10, -30, "4k3/ppp5/8/8/8/8/P1P5/4K3 w - - 0 1", "a2 and c2 isolated");
+        assertScore(0, 0, "4k3/ppp5/8/8/8/8/PP6/4K3 w - - 0 1", "a2 and b2 together, b7 and c7 likewise");
+    }
+
+    /**
+     * A pawn with no enemy pawn in front of it on its own or an adjacent file is passed, worth more the further
+     * it has advanced, here on top of the penalty of a lone pawn being isolated
+     */
+    public static void passedPawnGainsWithItsRank() {
+        int[] middlegame = {0, 5, 10, 20, 40, 65};
+        int[] endgame = {-5, 5, 20, 45, 85, 135};
+        for (int rank = 2; rank <= 7; rank++) {
+            String fen = "4k3/" + "8/".repeat(7 - rank) + "4P3/" + "8/".repeat(rank - 2) + "4K3 w - - 0 1";
+            assertScore(middlegame[rank - 2], endgame[rank - 2], fen, "white pawn on rank " + rank);
+        }
+        assertScore(0, 0, "4k3/8/3p4/8/4P3/8/8/4K3 w - - 0 1", "pawns stopping each other on adjacent files");
+        assertScore(0, 0, "4k3/8/8/4P3/3p4/8/8/4K3 w - - 0 1", "pawns that passed each other");
+    }
+
+    /**
+     * Mirroring the ranks and swapping the colors negates both scores
+     */
+    public static void mirroredPawnsScoreOpposite() {
+        Random random = new Random(41);
+        long ranksTwoToSeven = 0x00FFFFFFFFFFFF00L;
+        for (int i = 0; i < 1000; i++) {
+            long white = random.nextLong() & random.nextLong() & ranksTwoToSeven;
+            long black = random.nextLong() & random.nextLong() & ranksTwoToSeven & ~white;
+            long score = PawnStructure.evaluate(white, black);
+            long mirrored = PawnStructure.evaluate(Long.reverseBytes(black), Long.reverseBytes(white));
+            assertEquals(-PawnStructure.middlegame(score), PawnStructure.middlegame(mirrored), "middlegame " + i);
+            assertEquals(-PawnStructure.endgame(score), PawnStructure.endgame(mirrored), "endgame " + i);
+        }
+    }
+
+    /**
+     * Pawns one rank in front of the king count twice as much as pawns two ranks in front,
+     * and a king that has left its first two ranks has no shield
+     */
+    public static void shieldCountsPawnsInFrontOfTheKing() {
+        assertEquals(30, shield("6k1/8/8/8/8/8/5PPP/6K1 w - - 0 1", ChessPieceColor.WHITE), "f2 g2 h2");
+        assertEquals(25, shield("6k1/8/8/8/8/6P1/5P1P/6K1 w - - 0 1", ChessPieceColor.WHITE), "f2 g3 h2");
+        assertEquals(0, shield("8/8/8/8/8/6K1/5PPP/7k w - - 0 1", ChessPieceColor.WHITE), "king on rank 3");
+        assertEquals(30, shield("6k1/5ppp/8/8/8/8/8/6K1 b - - 0 1", ChessPieceColor.BLACK), "f7 g7 h7");
+        assertEquals(10, shield("k7/8/8/8/8/8/1PP5/K7 w - - 0 1", ChessPieceColor.WHITE), "b2 in front, c2 too far aside");
+    }
+
+    /**
+     * The method checks both scores of the pawn structure of a position
+     *
+     * @param middlegame expected middlegame score
+     * @param endgame    expected endgame score
+     * @param fen        position in Forsyth-Edwards Notation
+     * @param message    message of the failure
+     */
+    private static void assertScore(int middlegame, int endgame, String fen, String message) {
+        ChessBoard chessBoard = FenNotation.getChessBoard(fen);
+        long score = PawnStructure.evaluate(pawns(chessBoard, ChessPieceColor.WHITE), pawns(chessBoard, ChessPieceColor.BLACK));
+        assertEquals(middlegame, PawnStructure.middlegame(score), message + " middlegame");
+        assertEquals(endgame, PawnStructure.endgame(score), message + " endgame");
+    }
+
+    /**
+     * The method returns the pawn shield of the king of a color
+     *
+     * @param fen   position in Forsyth-Edwards Notation
+     * @param color color of the king
+     * @return middlegame bonus of the shield
+     */
+    private static int shield(String fen, ChessPieceColor color) {
+        ChessBoard chessBoard = FenNotation.getChessBoard(fen);
+        Position king = chessBoard.getChessPiecePosition(ChessType.KING, color);
+        return PawnStructure.shield(pawns(chessBoard, color), king.y() * 8 + king.x(), color);
+    }
+
+    /**
+     * The method returns bitboard of the pawns of a color
+     *
+     * @param chessBoard chessboard the pawns stand on
+     * @param color      color of the pawns
+     * @return bitboard with bit y * 8 + x set for a pawn at (x, y)
+     */
+    private static long pawns(ChessBoard chessBoard, ChessPieceColor color) {
+        long pawns = 0;
+        for (int square = 0; square < 64; square++) {
+            ChessPiece chessPiece = chessBoard.getElement(new Position(square % 8, square / 8)).piece();
+            if (chessPiece != null && chessPiece.type() == ChessType.PAWN && chessPiece.color() == color) {
+                pawns |= 1L << square;
+            }
+        }
+        return pawns;
+    }
+}
@@ -0,0 +1,73 @@
+package chess.evaluation;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.FenNotation;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertFalse;
+import static chess.Assertions.assertThrows;
+import static chess.Assertions.assertTrue;
+
+public class StaticExchangeTest {
+
+    /**
+     * The method evaluates a capture given in coordinate notation on a chessboard given in Forsyth-Edwards Notation
+     *
+     * @param fen     chessboard
+     * @param capture capture, for example d4e5
+     * @return material balance of the exchange for the side making the capture
+     */
+    private static int evaluate(String fen, String capture) {
+        return StaticExchange.evaluate(FenNotation.getChessBoard(fen), ChessDoer.getBoundVector(capture));
+    }
+
+    /**
+     * A chesspiece nobody defends is won whole
+     */
+    public static void undefendedCaptureWinsTheChesspiece() {
+        assertEquals(320, evaluate("4k3/8/8/4n3/8/8/8/4RK2 w - - 0 1", "e1e5"), "rook takes knight");
+    }
+
+    /**
+     * Pawn takes a knight defended by a pawn, the recapture costs the pawn
+     */
+    public static void defendedCaptureLosesTheAttacker() {
+        assertEquals(220, evaluate("4k3/8/3p4/4n3/3P4/8/8/4K3 w - - 0 1", "d4e5"), "pawn takes knight");
+        assertEquals(-400, evaluate("4k3/8/3p4/4p3/8/8/8/4RK2 w - - 0 1", "e1e5"), "rook takes pawn");
+    }
+
+    /**
+     * A rook behind the rook making the capture joins the exchange once the first one is gone
+     */
+    public static void xRayAttackerJoinsTheExchange() {
+        assertEquals(100, evaluate("4r1k1/8/8/4p3/8/8/4R3/4R1K1 w - - 0 1", "e2e5"), "doubled rooks take pawn");
+    }
+
+    /**
+     * The king recaptures only on a square the other side does not defend anymore
+     */
+    public static void kingRecapturesOnlyUndefendedSquares() {
+        assertEquals(-400, evaluate("3rk3/8/8/8/8/8/3P4/4K3 b - - 0 1", "d8d2"), "king takes rook");
+        assertEquals(100, evaluate("3qk3/3r4/8/8/8/8/3P4/4K3 b - - 0 1", "d7d2"), "queen defends rook");
+    }
+
+    /**
+     * A chesspiece is hanging if the opposite color wins material by starting the exchange
+     */
+    public static void hangingChesspieces() {
+        ChessBoard knight = FenNotation.getChessBoard("4k3/8/3p4/4n3/3P4/8/8/4K3 w - - 0 1");
+        assertTrue(StaticExchange.isHanging(knight, ChessDoer.getPosition("e5")), "knight attacked by pawn");
+        ChessBoard pawn = FenNotation.getChessBoard("4k3/8/3p4/4p3/8/8/8/4RK2 w - - 0 1");
+        assertFalse(StaticExchange.isHanging(pawn, ChessDoer.getPosition("e5")), "pawn defended against rook");
+        assertFalse(StaticExchange.isHanging(pawn, ChessDoer.getPosition("e4")), "empty square");
+    }
+
+    /**
+     * A capture must start from a chesspiece
+     */
+    public static void captureFromEmptySquareThrows() {
+        assertThrows(IllegalArgumentException.class, () -> evaluate("4k3/8/8/4n3/8/8/8/4RK2 w - - 0 1", "a1e5"),
+                "empty origin");
+    }
+}
@@ -0,0 +1,150 @@
+package chess.events;
+
+import chess.ChessBoard;
+import chess.FenNotation;
+import chess.RandomGames;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.enums.TheStateOfTheGame;
+import chess.history.MoveHistory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertThrows;
+
+public class BoardDeltaTest {
+
+    /**
+     * Every delta of random games, captures, promotions and takebacks included, decodes back to itself
+     * from exactly encodedSize() bytes
+     */
+    public static void encodeDecodeRoundTrip() {
+        for (BoardDelta delta : randomGameDeltas(new Random(42))) {
+            ByteBuffer buffer = ByteBuffer.allocate(delta.encodedSize() + 3);
+            delta.encode(buffer);
+            assertEquals(delta.encodedSize(), buffer.position(), "encoded size of " + delta.sequence());
+            buffer.flip();
+            assertEquals(delta, BoardDelta.decode(buffer), "decoded delta " + delta.sequence());
+            assertEquals(0, buffer.remaining(), "bytes left after " + delta.sequence());
+        }
+    }
+
+    /**
+     * A promotion, black on the move and the end of the game survive encoding
+     */
+    public static void headerRoundTrip() {
+        BoardDelta delta = new BoardDelta(-7, List.of(), ChessType.KNIGHT, ChessPieceColor.BLACK, TheStateOfTheGame.CHECKMATE);
+        ByteBuffer buffer = ByteBuffer.allocate(delta.encodedSize());
+        delta.encode(buffer);
+        assertEquals(delta, BoardDelta.decode(buffer.flip()), "header");
+    }
+
+    /**
+     * A subscriber starting from the snapshot and applying the recorded deltas of the moves and the deltas
+     * of takebacks and moves made again always has the same chessboard as the game
+     */
+    public static void appliedDeltasFollowTheGame() {
+        Random random = new Random(42);
+        for (int game = 0; game < 10; game++) {
+            MoveHistory history = new MoveHistory(ChessBoard.create());
+            DeltaRecorder recorder = new DeltaRecorder();
+            ChessBoard replica = apply(ChessBoard.create(ChessPieceColor.WHITE, Map.of()),
+                    BoardDelta.snapshot(0, history.getChessBoard(), TheStateOfTheGame.PLAYING));
+            assertSame(history.getChessBoard(), replica, "game " + game + " snapshot");
+            for (int ply = 1; ply <= 80; ply++) {
+                ChessBoard before = history.getChessBoard();
+                BoardDelta delta;
+                if (history.canUndo() && random.nextInt(5) == 0) {
+                    history.undo();
+                    delta = BoardDelta.between(ply, before, history.getChessBoard(), TheStateOfTheGame.PLAYING);
+                } else if (history.canRedo() && random.nextInt(2) == 0) {
+                    history.redo();
+                    delta = BoardDelta.between(ply, before, history.getChessBoard(), TheStateOfTheGame.PLAYING);
+                } else {
+                    if (RandomGames.playRandomMove(before, random,
+                            (move, promotion) -> history.makeMove(move, promotion, recorder)) == null) {
+                        break;
+                    }
+                    delta = recorder.finish(ply, TheStateOfTheGame.PLAYING);
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(delta.encodedSize());
+                delta.encode(buffer);
+                replica = apply(replica, BoardDelta.decode(buffer.flip()));
+                assertSame(history.getChessBoard(), replica, "game " + game + " ply " + ply);
+            }
+        }
+    }
+
+    /**
+     * Bytes that are not a delta are rejected instead of giving a wrong chessboard
+     */
+    public static void invalidBytesThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BoardDelta.decode(ByteBuffer.wrap(new byte[]{0, 0, 0, 1, 3 << 1, 0})), "invalid state");
+        assertThrows(IllegalArgumentException.class,
+                () -> BoardDelta.decode(ByteBuffer.wrap(new byte[]{0, 0, 0, 1, 7 << 3, 0})), "invalid promotion");
+        assertThrows(IllegalArgumentException.class,
+                () -> BoardDelta.decode(ByteBuffer.wrap(new byte[]{0, 0, 0, 1, 0, 1, 12, 7})), "invalid type");
+    }
+
+    /**
+     * The method applies changes of a delta to a chessboard the way a subscriber does
+     *
+     * @param chessBoard chessboard before the delta
+     * @param delta      the delta
+     * @return chessboard after the delta
+     */
+    private static ChessBoard apply(ChessBoard chessBoard, BoardDelta delta) {
+        for (BoardDelta.SquareChange change : delta.changes()) {
+            chessBoard = chessBoard.getChessBoardWithChangedChessPiece(change.position(),
+                    change.added() ? change.chessPiece() : null);
+        }
+        return chessBoard.getCurrentColor() == delta.sideToMove() ? chessBoard : chessBoard.getChessBoardWithFlippedColor();
+    }
+
+    /**
+     * The method compares two chessboards, whether the chesspieces were moved included,
+     * together with the color on the move, which ChessBoard.equals ignores
+     *
+     * @param expected expected chessboard
+     * @param actual   actual chessboard
+     * @param message  message of the failure
+     */
+    private static void assertSame(ChessBoard expected, ChessBoard actual, String message) {
+        assertEquals(expected, actual, message + " " + FenNotation.getFen(expected));
+        assertEquals(expected.getCurrentColor(), actual.getCurrentColor(), message + " color on the move");
+    }
+
+    /**
+     * The method plays a random game with takebacks and returns its deltas
+     *
+     * @param random source of the moves
+     * @return deltas of the game
+     */
+    private static List<BoardDelta> randomGameDeltas(Random random) {
+        List<BoardDelta> deltas = new ArrayList<>();
+        MoveHistory history = new MoveHistory(ChessBoard.create());
+        DeltaRecorder recorder = new DeltaRecorder();
+        deltas.add(BoardDelta.snapshot(0, history.getChessBoard(), TheStateOfTheGame.PLAYING));
+        for (int ply = 1; ply <= 300; ply++) {
+            ChessBoard before = history.getChessBoard();
+            if (history.canUndo() && random.nextInt(8) == 0) {
+                deltas.add(BoardDelta.between(ply, before, history.undo(), TheStateOfTheGame.PLAYING));
+                continue;
+            }
+            MoveHistory game = history;
+            if (RandomGames.playRandomMove(before, random,
+                    (move, promotion) -> game.makeMove(move, promotion, recorder)) == null) {
+                history = new MoveHistory(ChessBoard.create());
+                continue;
+            }
+            deltas.add(recorder.finish(ply, TheStateOfTheGame.PLAYING));
+        }
+        return deltas;
+    }
+}
@@ -0,0 +1,206 @@
+package chess.events;
+
+import chess.ChessBoard;
+import chess.enums.ChessPieceColor;
+import chess.enums.TheStateOfTheGame;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertFalse;
+import static chess.Assertions.assertTrue;
+
+public class DeltaPublisherTest {
+
+    /**
+     * Non-blocking channel taking at most a given number of bytes between two flushes,
+     * like a socket whose send buffer drains slower than the deltas come
+     */
+    private static final class ThrottledChannel implements GatheringByteChannel {
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        private final int bytesPerFlush;
+        private int left;
+        private int writes;
+        private boolean open = true;
+
+        private ThrottledChannel(int bytesPerFlush) {
+            this.bytesPerFlush = bytesPerFlush;
+            this.left = bytesPerFlush;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            writes++;
+            long written = 0;
+            for (int i = offset; i < offset + length && left > 0; i++) {
+                while (srcs[i].hasRemaining() && left > 0) {
+                    received.write(srcs[i].get());
+                    written++;
+                    left--;
+                }
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[]{src}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+    /**
+     * Subscribers of different speeds receive the snapshot and then every delta once, in order and intact,
+     * across many flushes and far more deltas than fit a single slab
+     */
+    public static void everySubscriberReceivesEveryDeltaInOrder() {
+        DeltaPublisher publisher = new DeltaPublisher(100_000);
+        BoardDelta snapshot = BoardDelta.snapshot(0, ChessBoard.create(), TheStateOfTheGame.PLAYING);
+        ThrottledChannel fast = new ThrottledChannel(Integer.MAX_VALUE);
+        ThrottledChannel slow = new ThrottledChannel(7);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        publisher.subscribe(fast, snapshot);
+        publisher.subscribe(slow, snapshot);
+        publisher.subscribe(Channels.newChannel(plain), snapshot);
+        List<BoardDelta> published = new ArrayList<>(List.of(snapshot));
+        for (int sequence = 1; sequence <= 5000; sequence++) {
+            BoardDelta delta = sequence % 100 == 0
+                    ? BoardDelta.snapshot(sequence, ChessBoard.create(), TheStateOfTheGame.PLAYING)
+                    : BoardDelta.between(sequence, ChessBoard.create(), ChessBoard.create().getChessBoardWithFlippedColor(),
+                    TheStateOfTheGame.PLAYING);
+            publisher.boardChanged(delta);
+            published.add(delta);
+            if (sequence % 10 == 0) {
+                flush(publisher, fast, slow);
+            }
+        }
+        while (slow.received.size() < fast.received.size()) {
+            flush(publisher, fast, slow);
+        }
+        assertDelivered(published, fast.received, "fast subscriber");
+        assertDelivered(published, slow.received, "slow subscriber");
+        assertDelivered(published, plain, "non-gathering subscriber");
+        assertEquals(3, publisher.getSubscriberCount(), "subscribers");
+    }
+
+    /**
+     * Slabs written out by every subscriber are reused for later deltas without overwriting
+     * deltas still queued for a subscriber that keeps up only partly
+     */
+    public static void reusedSlabsKeepQueuedDeltas() {
+        DeltaPublisher publisher = new DeltaPublisher(100_000);
+        ThrottledChannel fast = new ThrottledChannel(Integer.MAX_VALUE);
+        ThrottledChannel partial = new ThrottledChannel(50);
+        publisher.subscribe(fast, null);
+        publisher.subscribe(partial, null);
+        List<BoardDelta> published = new ArrayList<>();
+        for (int sequence = 1; sequence <= 20_000; sequence++) {
+            BoardDelta delta = BoardDelta.snapshot(sequence, ChessBoard.create(), TheStateOfTheGame.PLAYING);
+            publisher.boardChanged(delta);
+            published.add(delta);
+            flush(publisher, fast, partial);
+        }
+        while (partial.received.size() < fast.received.size()) {
+            flush(publisher, fast, partial);
+        }
+        assertDelivered(published, fast.received, "fast subscriber");
+        assertDelivered(published, partial.received, "partial subscriber");
+    }
+
+    /**
+     * A flush writes all the deltas queued for a subscriber in a single gathering write
+     */
+    public static void flushCoalescesDeltas() {
+        DeltaPublisher publisher = new DeltaPublisher(64);
+        ThrottledChannel channel = new ThrottledChannel(Integer.MAX_VALUE);
+        publisher.subscribe(channel, null);
+        for (int sequence = 1; sequence <= 50; sequence++) {
+            publisher.boardChanged(new BoardDelta(sequence, List.of(), null, ChessPieceColor.WHITE, TheStateOfTheGame.PLAYING));
+        }
+        flush(publisher, channel);
+        assertEquals(1, channel.writes, "writes");
+        assertEquals(50, decodeAll(channel.received).size(), "deltas");
+    }
+
+    /**
+     * A subscriber that falls more than maxPending deltas behind is dropped and its channel closed,
+     * the others go on receiving
+     */
+    public static void laggingSubscriberIsDropped() {
+        DeltaPublisher publisher = new DeltaPublisher(3);
+        ThrottledChannel stalled = new ThrottledChannel(0);
+        ThrottledChannel healthy = new ThrottledChannel(Integer.MAX_VALUE);
+        publisher.subscribe(stalled, null);
+        publisher.subscribe(healthy, null);
+        for (int sequence = 1; sequence <= 10; sequence++) {
+            publisher.boardChanged(new BoardDelta(sequence, List.of(), null, ChessPieceColor.WHITE, TheStateOfTheGame.PLAYING));
+            flush(publisher, stalled, healthy);
+        }
+        assertFalse(stalled.isOpen(), "stalled channel closed");
+        assertTrue(healthy.isOpen(), "healthy channel open");
+        assertEquals(1, publisher.getSubscriberCount(), "subscribers");
+        assertEquals(10, decodeAll(healthy.received).size(), "deltas of the healthy subscriber");
+    }
+
+    /**
+     * The method lets the channels take their bytes again and flushes the publisher
+     *
+     * @param publisher publisher to flush
+     * @param channels  channels of the subscribers
+     */
+    private static void flush(DeltaPublisher publisher, ThrottledChannel... channels) {
+        for (ThrottledChannel channel : channels) {
+            channel.left = channel.bytesPerFlush;
+        }
+        publisher.flush();
+    }
+
+    /**
+     * The method checks that a channel received exactly the published deltas, in order
+     *
+     * @param published deltas in the order they were published
+     * @param received  bytes written to the channel
+     * @param message   message of the failure
+     */
+    private static void assertDelivered(List<BoardDelta> published, ByteArrayOutputStream received, String message) {
+        List<BoardDelta> deltas = decodeAll(received);
+        assertEquals(published.size(), deltas.size(), message + " number of deltas");
+        for (int i = 0; i < deltas.size(); i++) {
+            assertEquals(published.get(i), deltas.get(i), message + " delta " + i);
+        }
+    }
+
+    /**
+     * The method decodes every delta of a byte stream
+     *
+     * @param received bytes written to a channel
+     * @return decoded deltas
+     */
+    private static List<BoardDelta> decodeAll(ByteArrayOutputStream received) {
+        ByteBuffer buffer = ByteBuffer.wrap(received.toByteArray());
+        List<BoardDelta> deltas = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            deltas.add(BoardDelta.decode(buffer));
+        }
+        return deltas;
+    }
+}
@@ -0,0 +1,97 @@
+package chess.history;
+
+import chess.ChessBoard;
+import chess.RandomGames;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertFalse;
+import static chess.Assertions.assertThrows;
+
+public class MoveHistoryTest {
+
+    /**
+     * The method plays random legal moves through the history
+     *
+     * @param history history the moves are made through
+     * @param random  source of the moves
+     * @param plies   number of moves to make, fewer if the game ends
+     * @return chessboards of the game, the one the history holds first included
+     */
+    private static List<ChessBoard> play(MoveHistory history, Random random, int plies) {
+        return RandomGames.playRandomGame(history.getChessBoard(), random, plies, history::makeMove);
+    }
+
+    /**
+     * The method checks that the history stands at the given ply of the game
+     *
+     * @param boards chessboards of the game
+     * @param ply    ply the history must stand at
+     * @param actual chessboard the history returned
+     */
+    private static void assertAt(List<ChessBoard> boards, int ply, ChessBoard actual) {
+        assertEquals(boards.get(ply), actual, "chessboard at ply " + ply);
+        assertEquals(boards.get(ply).getCurrentColor(), actual.getCurrentColor(), "color on the move at ply " + ply);
+    }
+
+    /**
+     * Undoing and redoing every move, captures and promotions included, goes through the same chessboards
+     * as the game itself, whether a chesspiece had moved included
+     */
+    public static void undoAndRedoRestoreEveryChessboard() {
+        MoveHistory history = new MoveHistory(ChessBoard.create());
+        List<ChessBoard> boards = play(history, new Random(33), 150);
+        while (history.canUndo()) {
+            assertAt(boards, history.getPly() - 1, history.undo());
+        }
+        while (history.canRedo()) {
+            assertAt(boards, history.getPly() + 1, history.redo());
+        }
+        assertEquals(boards.size() - 1, history.size(), "number of moves");
+    }
+
+    /**
+     * Jumping to any ply, from checkpoints or from the current chessboard, gives the chessboard of that ply
+     */
+    public static void jumpToReachesEveryPly() {
+        Random random = new Random(34);
+        MoveHistory history = new MoveHistory(ChessBoard.create());
+        List<ChessBoard> boards = play(history, random, 150);
+        for (int i = 0; i < 300; i++) {
+            int target = random.nextInt(boards.size());
+            assertAt(boards, target, history.jumpTo(target));
+            assertEquals(target, history.getPly(), "ply after the jump");
+        }
+    }
+
+    /**
+     * A move made after going back replaces the rest of the game and the checkpoints stored for it
+     */
+    public static void moveAfterJumpForgetsTheRestOfTheGame() {
+        Random random = new Random(35);
+        MoveHistory history = new MoveHistory(ChessBoard.create());
+        List<ChessBoard> boards = play(history, random, 40);
+        history.jumpTo(20);
+        List<ChessBoard> branch = new ArrayList<>(boards.subList(0, 20));
+        branch.addAll(play(history, random, 1));
+        assertEquals(21, history.size(), "moves after the branch");
+        assertFalse(history.canRedo(), "nothing to redo after the branch");
+        for (int target : new int[]{0, 17, 21, 3, 16, 21}) {
+            assertAt(branch, target, history.jumpTo(target));
+        }
+        assertThrows(IllegalArgumentException.class, () -> history.jumpTo(22), "jump past the end");
+        assertThrows(IllegalArgumentException.class, () -> history.jumpTo(-1), "jump before the start");
+    }
+
+    /**
+     * Undoing at the start and redoing at the end are programming errors
+     */
+    public static void undoAndRedoOutOfRangeThrow() {
+        MoveHistory history = new MoveHistory(ChessBoard.create());
+        assertThrows(IllegalStateException.class, history::undo, "undo at the start");
+        assertThrows(IllegalStateException.class, history::redo, "redo at the end");
+    }
+}
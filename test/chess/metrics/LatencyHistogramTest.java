@@ -0,0 +1,90 @@
+package chess.metrics;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertThrows;
+import static chess.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    /**
+     * Below 16 every value has a bucket of its own, above it a bucket spans 1/8 of its power of two,
+     * so a percentile is the highest value of the bucket, here as long as a larger value keeps the maximum away
+     */
+    public static void percentileIsUpperBoundOfTheBucket() {
+        long[][] expected = {{0, 0}, {15, 15}, {16, 17}, {17, 17}, {18, 19}, {31, 31}, {32, 35}, {1023, 1023},
+                {1024, 1151}, {1_000_000, 1_048_575}};
+        for (long[] bounds : expected) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(bounds[0]);
+            histogram.record(Long.MAX_VALUE);
+            assertEquals(bounds[1], histogram.percentile(50), "bucket of " + bounds[0]);
+        }
+    }
+
+    /**
+     * Whatever the value, its percentile is off by less than 12.5%, and never by more than the maximum allows
+     */
+    public static void relativeErrorStaysBelowOneEighth() {
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+            long percentile = histogram.percentile(50);
+            assertTrue(percentile >= value && percentile - value < Math.max(1, value / 8.0), "value " + value);
+            histogram.reset();
+            histogram.record(value);
+            assertEquals(value, histogram.percentile(50), "value " + value + " alone is its own maximum");
+        }
+    }
+
+    /**
+     * Percentiles of 1 to 1000 recorded once each fall on the buckets of the 500th, 900th and 990th value,
+     * the last one capped by the maximum
+     */
+    public static void percentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1000; value >= 1; value--) {
+            histogram.record(value);
+        }
+        assertEquals(1000L, histogram.count(), "count");
+        assertEquals(500.5, histogram.mean(), "mean");
+        assertEquals(1L, histogram.percentile(0), "p0");
+        assertEquals(511L, histogram.percentile(50), "p50");
+        assertEquals(959L, histogram.percentile(90), "p90");
+        assertEquals(1000L, histogram.percentile(99), "p99");
+        assertEquals(1000L, histogram.percentile(100), "p100");
+        assertEquals(1000L, histogram.max(), "max");
+    }
+
+    /**
+     * A histogram with 99 fast values and a single slow one reports the slow one only from the 100th percentile
+     */
+    public static void singleOutlierOnlyShowsAtTheTop() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(10);
+        }
+        histogram.record(5_000_000);
+        assertEquals(10L, histogram.percentile(99), "p99");
+        assertEquals(5_000_000L, histogram.percentile(99.5), "p99.5");
+        assertEquals(5_000_000L, histogram.max(), "max");
+    }
+
+    /**
+     * Nothing recorded gives zeros, negative values count as 0, and percentiles outside 0 to 100 are rejected
+     */
+    public static void emptyNegativeAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.percentile(99), "empty percentile");
+        assertEquals(0.0, histogram.mean(), "empty mean");
+        histogram.record(-5);
+        assertEquals(0L, histogram.max(), "negative value");
+        assertEquals(1L, histogram.count(), "negative value counted");
+        histogram.record(40);
+        histogram.reset();
+        assertEquals(0L, histogram.count(), "count after reset");
+        assertEquals(0L, histogram.max(), "max after reset");
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(100.5), "percentile above 100");
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(-1), "negative percentile");
+    }
+}
@@ -0,0 +1,90 @@
+package chess.metrics;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.history.MoveHistory;
+import chess.validation.ChessArbiter;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertTrue;
+
+public class RulesEngineMetricsTest {
+
+    /**
+     * A validation, a move and the chessboards it creates are counted once each, and the move is timed
+     */
+    public static void hooksCountTheRulesEngineWork() {
+        RulesEngineMetrics metrics = RulesEngineMetrics.getInstance();
+        boolean enabled = metrics.isEnabled();
+        metrics.setEnabled(true);
+        try {
+            metrics.reset();
+            ChessBoard chessBoard = ChessBoard.create();
+            assertTrue(ChessArbiter.isStrictlyLegalMove(chessBoard, ChessDoer.getBoundVector("e2e4")), "e2e4");
+            assertEquals(1L, metrics.getStrictlyLegalMoveChecks(), "validations");
+            assertEquals(1L, metrics.getPositionUnderAttackScans(), "king safety scans");
+            metrics.reset();
+            new MoveHistory(chessBoard).makeMove(ChessDoer.getBoundVector("e2e4"), () -> null);
+            assertEquals(3L, metrics.getBoardsCreated(), "two squares changed and the color flipped");
+            assertEquals(1L, metrics.getMovesApplied(), "moves applied");
+            assertTrue(metrics.getMoveApplicationMaxNanos() > 0, "move timed");
+            assertTrue(metrics.snapshot().contains("boardsCreated 3"), "snapshot");
+        } finally {
+            metrics.setEnabled(enabled);
+        }
+    }
+
+    /**
+     * Switched off metrics count nothing and do not read the clock
+     */
+    public static void switchedOffMetricsCountNothing() {
+        RulesEngineMetrics metrics = RulesEngineMetrics.getInstance();
+        boolean enabled = metrics.isEnabled();
+        metrics.setEnabled(false);
+        try {
+            metrics.reset();
+            ChessBoard chessBoard = ChessBoard.create();
+            ChessArbiter.isStrictlyLegalMove(chessBoard, ChessDoer.getBoundVector("e2e4"));
+            new MoveHistory(chessBoard).makeMove(ChessDoer.getBoundVector("e2e4"), () -> null);
+            assertEquals(0L, RulesEngineMetrics.startTimer(), "timer");
+            assertEquals(0L, metrics.getStrictlyLegalMoveChecks(), "validations");
+            assertEquals(0L, metrics.getPositionUnderAttackScans(), "king safety scans");
+            assertEquals(0L, metrics.getBoardsCreated(), "chessboards");
+            assertEquals(0L, metrics.getMovesApplied(), "moves applied");
+        } finally {
+            metrics.setEnabled(enabled);
+        }
+    }
+
+    /**
+     * Over JMX the counters can be read and collection switched off and on again
+     *
+     * @throws JMException if the metrics cannot be reached in the platform MBean server
+     */
+    public static void metricsAreReachableOverJmx() throws JMException {
+        RulesEngineMetrics metrics = RulesEngineMetrics.getInstance();
+        boolean enabled = metrics.isEnabled();
+        RulesEngineMetrics.registerMBean();
+        RulesEngineMetrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(RulesEngineMetrics.OBJECT_NAME);
+        try {
+            server.setAttribute(name, new Attribute("Enabled", true));
+            metrics.reset();
+            ChessArbiter.isStrictlyLegalMove(ChessBoard.create(), ChessDoer.getBoundVector("e2e4"));
+            assertEquals(1L, server.getAttribute(name, "StrictlyLegalMoveChecks"), "validations over JMX");
+            server.setAttribute(name, new Attribute("Enabled", false));
+            assertEquals(false, metrics.isEnabled(), "switched off over JMX");
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, metrics.getStrictlyLegalMoveChecks(), "reset over JMX");
+        } finally {
+            metrics.setEnabled(enabled);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package chess.metrics;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.validation.ChessArbiter;
+import jdk.jfr.Recording;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertTrue;
+
+public class WorkTallyTest {
+
+    /**
+     * The tally counts only while a recording has one of the chess events enabled,
+     * and stops again once the recording is closed
+     */
+    public static void countsOnlyWhileChessEventsAreRecorded() {
+        WorkTally tally = WorkTally.current();
+        long candidates = tally.candidates();
+        WorkTally.countCandidate();
+        assertEquals(candidates, tally.candidates(), "no recording");
+        try (Recording recording = new Recording()) {
+            recording.enable(GameEndCheckEvent.class);
+            recording.start();
+            assertTrue(WorkTally.isRecorderInitialized(), "recorder running");
+            candidates = tally.candidates();
+            long boards = tally.boards();
+            long moves = tally.moves();
+            WorkTally.countCandidate();
+            WorkTally.countCandidates(5);
+            WorkTally.countBoard();
+            WorkTally.countMove();
+            assertEquals(candidates + 6, tally.candidates(), "candidates while recording");
+            assertEquals(boards + 1, tally.boards(), "boards while recording");
+            assertEquals(moves + 1, tally.moves(), "moves while recording");
+        }
+        candidates = tally.candidates();
+        WorkTally.countCandidate();
+        assertEquals(candidates, tally.candidates(), "recording closed");
+    }
+
+    /**
+     * Every thread has a tally of its own, the work of one thread is not counted in the tally of another
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the other thread
+     */
+    public static void threadsCountSeparately() throws InterruptedException {
+        try (Recording recording = new Recording()) {
+            recording.enable(MoveValidationEvent.class);
+            recording.start();
+            WorkTally.isRecorderInitialized();
+            WorkTally tally = WorkTally.current();
+            long candidates = tally.candidates();
+            long[] other = new long[1];
+            Thread thread = new Thread(() -> {
+                ChessArbiter.isStrictlyLegalMove(ChessBoard.create(), ChessDoer.getBoundVector("e2e4"));
+                other[0] = WorkTally.current().candidates();
+            });
+            thread.start();
+            thread.join();
+            assertEquals(candidates, tally.candidates(), "this thread");
+            //the move itself and one attack probe for each of the 16 black chesspieces
+            assertEquals(17L, other[0], "other thread");
+        }
+    }
+}
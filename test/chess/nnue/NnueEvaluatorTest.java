@@ -0,0 +1,90 @@
+package chess.nnue;
+
+import chess.ChessBoard;
+import chess.FenNotation;
+import chess.RandomGames;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertThrows;
+
+public class NnueEvaluatorTest {
+
+    /**
+     * Along random games, updating the accumulators move by move gives the same output as refreshing them from the chessboard,
+     * and popping them gives back the earlier outputs. The odd hidden size leaves values after the last full vector.
+     */
+    public static void matchesRefreshAlongRandomGames() {
+        Random random = new Random(39);
+        for (int hidden : new int[]{256, 100}) {
+            NetworkWeights weights = NetworkWeights.random(hidden, hidden);
+            for (int game = 0; game < 10; game++) {
+                NnueEvaluator evaluator = new NnueEvaluator(weights, ChessBoard.create());
+                int[] scores = new int[120];
+                int plies = 0;
+                while (plies < scores.length) {
+                    scores[plies] = evaluator.evaluate();
+                    ChessBoard next = RandomGames.playRandomMove(evaluator.getChessBoard(), random, evaluator::makeMove);
+                    if (next == null) {
+                        break;
+                    }
+                    plies++;
+                    assertEquals(new NnueEvaluator(weights, next).evaluate(), evaluator.evaluate(),
+                            "hidden " + hidden + " game " + game + " ply " + plies + " " + FenNotation.getFen(next));
+                }
+                while (evaluator.getPly() > 0) {
+                    evaluator.undoMove();
+                    assertEquals(scores[evaluator.getPly()], evaluator.evaluate(),
+                            "hidden " + hidden + " game " + game + " undo to ply " + evaluator.getPly());
+                }
+            }
+        }
+    }
+
+    /**
+     * Whichever kernel the factory picks, it computes the same as the scalar one,
+     * also when the accumulators wrap around and when the clipping cuts values off on both sides
+     */
+    public static void factoryKernelMatchesScalar() {
+        Random random = new Random(39);
+        AccumulatorKernel kernel = AccumulatorKernel.create();
+        AccumulatorKernel scalar = new ScalarAccumulatorKernel();
+        for (int length : new int[]{256, 100, 7}) {
+            short[] featureWeights = new short[4 * length];
+            byte[] outputWeights = new byte[length];
+            short[] accumulators = new short[2 * length];
+            for (int i = 0; i < featureWeights.length; i++) {
+                featureWeights[i] = (short) random.nextInt();
+            }
+            random.nextBytes(outputWeights);
+            for (int i = 0; i < length; i++) {
+                accumulators[i] = (short) random.nextInt();
+            }
+            short[] expected = accumulators.clone();
+            scalar.move(expected, 0, length, featureWeights, 0, length, length);
+            kernel.move(accumulators, 0, length, featureWeights, 0, length, length);
+            assertEquals(Arrays.toString(expected), Arrays.toString(accumulators),
+                    kernel.getClass().getSimpleName() + " move, length " + length);
+            scalar.capture(expected, length, 0, featureWeights, length, 2 * length, 3 * length, length);
+            kernel.capture(accumulators, length, 0, featureWeights, length, 2 * length, 3 * length, length);
+            assertEquals(Arrays.toString(expected), Arrays.toString(accumulators),
+                    kernel.getClass().getSimpleName() + " capture, length " + length);
+            for (int i = 0; i < length; i++) {
+                accumulators[i] = (short) (random.nextInt(400) - 100);
+            }
+            assertEquals(scalar.dot(accumulators, 0, outputWeights, 0, length),
+                    kernel.dot(accumulators, 0, outputWeights, 0, length),
+                    kernel.getClass().getSimpleName() + " dot, length " + length);
+        }
+    }
+
+    /**
+     * The accumulator stack starts with only the refreshed accumulators, there is nothing to pop
+     */
+    public static void accumulatorUndoAtPlyZeroThrows() {
+        NnueEvaluator evaluator = new NnueEvaluator(NetworkWeights.random(16, 1), ChessBoard.create());
+        assertThrows(IllegalStateException.class, evaluator::undoMove, "undo at ply 0");
+    }
+}
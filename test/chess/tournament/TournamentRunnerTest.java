@@ -0,0 +1,50 @@
+package chess.tournament;
+
+import chess.FenNotation;
+import chess.engine.SearchLimits;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertFalse;
+import static chess.Assertions.assertThrows;
+
+public class TournamentRunnerTest {
+
+    private static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1";
+    private static final List<EngineSettings> ENGINES = List.of(new EngineSettings("first", SearchLimits.depth(1)),
+            new EngineSettings("second", SearchLimits.depth(1)));
+
+    /**
+     * Rounds of engines searching to a fixed depth start from different positions and so play different games,
+     * while both games of a pair in a round start from the same one
+     *
+     * @throws InterruptedException if the tournament is interrupted
+     */
+    public static void deterministicEnginesPlayDifferentGamesEveryRound() throws InterruptedException {
+        List<GameResult> results = new TournamentRunner(ENGINES, List.of(START), 1, 4, 3, 7).run(result -> {
+        });
+        assertEquals(6, results.size(), "games");
+        Set<String> starts = new HashSet<>();
+        for (GameResult result : results) {
+            starts.add(result.opening());
+        }
+        assertEquals(3, starts.size(), "one start per round");
+        assertFalse(starts.contains(START), "first moves made");
+    }
+
+    /**
+     * The same seed gives the same first moves, so a tournament can be repeated
+     */
+    public static void randomizedOpeningFollowsTheSeed() {
+        String opening = TournamentRunner.randomizeOpening(START, new Random(5));
+        assertEquals(opening, TournamentRunner.randomizeOpening(START, new Random(5)), "same seed");
+        assertEquals(FenNotation.getChessBoard(START).getCurrentColor(), FenNotation.getChessBoard(opening).getCurrentColor(),
+                "one move for each side");
+        assertThrows(IllegalArgumentException.class,
+                () -> new TournamentRunner(ENGINES, List.of(START), 1, 1, 0, 0), "no rounds");
+    }
+}
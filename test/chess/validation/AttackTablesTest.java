@@ -0,0 +1,178 @@
+package chess.validation;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.FenNotation;
+import chess.element.ChessPiece;
+import chess.enums.ChessPieceColor;
+import chess.enums.ChessType;
+import chess.navigation.BoundVector;
+import chess.navigation.Position;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static chess.Assertions.assertEquals;
+
+public class AttackTablesTest {
+
+    private static final int[][] KNIGHT_STEPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    private static final int[][] ORTHOGONAL = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+    private static final int[][] DIAGONAL = {{1, 1}, {-1, 1}, {1, -1}, {-1, -1}};
+
+    /**
+     * A few entries checked by hand: corners, edges and squares that are not aligned
+     */
+    public static void tablesMatchKnownSquares() {
+        AttackTables tables = AttackTables.get();
+        assertEquals(bits("b3", "c2"), tables.knightAttacks(square("a1")), "knight on a1");
+        assertEquals(bits("a2", "b2", "b1"), tables.kingAttacks(square("a1")), "king on a1");
+        assertEquals(bits("d5", "f5"), tables.pawnAttacks(ChessPieceColor.WHITE, square("e4")), "white pawn on e4");
+        assertEquals(bits("d3", "f3"), tables.pawnAttacks(ChessPieceColor.BLACK, square("e4")), "black pawn on e4");
+        assertEquals(bits("b7"), tables.pawnAttacks(ChessPieceColor.WHITE, square("a6")), "white pawn on the a-file");
+        assertEquals(bits("b2", "c3", "d4", "e5", "f6", "g7"), tables.between(square("a1"), square("h8")), "a1 to h8");
+        assertEquals(bits("b2", "c3", "d4", "e5", "f6", "g7"), tables.between(square("h8"), square("a1")), "h8 to a1");
+        assertEquals(0L, tables.between(square("a1"), square("b3")), "not aligned");
+        assertEquals(0L, tables.between(square("e4"), square("e5")), "adjacent");
+        assertEquals(14, Long.bitCount(tables.orthogonalRays(square("d4"))), "rook rays");
+        assertEquals(13, Long.bitCount(tables.diagonalRays(square("d4"))), "bishop rays");
+    }
+
+    /**
+     * On chessboards from random games and on random sparse chessboards, where long lines stay open,
+     * the bitboard attack check agrees with walking the moves of every chesspiece square by square
+     */
+    public static void attacksMatchRayWalk() {
+        Random random = new Random(43);
+        ChessBoard chessBoard = ChessBoard.create();
+        for (int i = 0; i < 1000; i++) {
+            BoundVector[] moves = ChessArbiter.strictlyLegalMoves(chessBoard);
+            if (moves.length == 0 || random.nextInt(60) == 0) {
+                chessBoard = ChessBoard.create();
+                continue;
+            }
+            chessBoard = ChessDoer.makeStandardChessMove(chessBoard, moves[random.nextInt(moves.length)], () -> ChessType.QUEEN);
+            assertAllSquares(chessBoard);
+        }
+        ChessType[] types = ChessType.values();
+        for (int i = 0; i < 1000; i++) {
+            Map<Position, ChessPiece> chessPieces = new HashMap<>();
+            for (int count = random.nextInt(12); count >= 0; count--) {
+                chessPieces.put(new Position(random.nextInt(8), random.nextInt(8)), new ChessPiece(types[random.nextInt(types.length)],
+                        random.nextBoolean() ? ChessPieceColor.WHITE : ChessPieceColor.BLACK, true));
+            }
+            assertAllSquares(ChessBoard.create(ChessPieceColor.WHITE, chessPieces));
+        }
+    }
+
+    /**
+     * The method compares the bitboard attack check with the reference on every square for both colors
+     *
+     * @param chessBoard chessboard to check
+     */
+    private static void assertAllSquares(ChessBoard chessBoard) {
+        for (Position target : chessBoard.getAllValidPositions()) {
+            for (ChessPieceColor by : ChessPieceColor.values()) {
+                assertEquals(isAttacked(chessBoard, target, by), ChessArbiterHelper.isPositionUnderAttack(chessBoard, target, by),
+                        target + " attacked by " + by + " in " + FenNotation.getFen(chessBoard));
+            }
+        }
+    }
+
+    /**
+     * The reference check: a position held by the attacking color is never attacked,
+     * a pawn attacks only a position held by the other color and sliders stop at the first chesspiece
+     *
+     * @param chessBoard chessboard to check
+     * @param target     position to check
+     * @param by         color of the attacking chesspieces
+     * @return true if a chesspiece of the color attacks the position
+     */
+    private static boolean isAttacked(ChessBoard chessBoard, Position target, ChessPieceColor by) {
+        ChessPiece held = chessBoard.getElement(target).piece();
+        if (held != null && held.color() == by) {
+            return false;
+        }
+        int pawnRank = by == ChessPieceColor.WHITE ? -1 : 1;
+        if (held != null && (is(chessBoard, target.x() - 1, target.y() + pawnRank, by, ChessType.PAWN)
+                || is(chessBoard, target.x() + 1, target.y() + pawnRank, by, ChessType.PAWN))) {
+            return true;
+        }
+        for (int[] step : KNIGHT_STEPS) {
+            if (is(chessBoard, target.x() + step[0], target.y() + step[1], by, ChessType.KNIGHT)) {
+                return true;
+            }
+        }
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if ((dx != 0 || dy != 0) && is(chessBoard, target.x() + dx, target.y() + dy, by, ChessType.KING)) {
+                    return true;
+                }
+            }
+        }
+        return slides(chessBoard, target, by, ORTHOGONAL, ChessType.ROOK) || slides(chessBoard, target, by, DIAGONAL, ChessType.BISHOP);
+    }
+
+    /**
+     * The method walks from the target in every direction up to the first chesspiece
+     *
+     * @param chessBoard chessboard to check
+     * @param target     position to walk from
+     * @param by         color of the attacking chesspieces
+     * @param directions directions to walk in
+     * @param slider     type moving in the directions besides the queen
+     * @return true if the first chesspiece in some direction is a slider or queen of the color
+     */
+    private static boolean slides(ChessBoard chessBoard, Position target, ChessPieceColor by, int[][] directions, ChessType slider) {
+        for (int[] direction : directions) {
+            for (int x = target.x() + direction[0], y = target.y() + direction[1]; x >= 0 && x < 8 && y >= 0 && y < 8;
+                 x += direction[0], y += direction[1]) {
+                ChessPiece chessPiece = chessBoard.getElement(new Position(x, y)).piece();
+                if (chessPiece != null) {
+                    if (chessPiece.color() == by && (chessPiece.type() == slider || chessPiece.type() == ChessType.QUEEN)) {
+                        return true;
+                    }
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param chessBoard chessboard to check
+     * @param x          column
+     * @param y          row
+     * @param color      color of the chesspiece
+     * @param type       type of the chesspiece
+     * @return true if the square lies on the chessboard and holds a chesspiece of the color and type
+     */
+    private static boolean is(ChessBoard chessBoard, int x, int y, ChessPieceColor color, ChessType type) {
+        if (x < 0 || x > 7 || y < 0 || y > 7) {
+            return false;
+        }
+        ChessPiece chessPiece = chessBoard.getElement(new Position(x, y)).piece();
+        return chessPiece != null && chessPiece.color() == color && chessPiece.type() == type;
+    }
+
+    /**
+     * @param name name of the square, like e4
+     * @return index of the square
+     */
+    private static int square(String name) {
+        return (name.charAt(1) - '1') * 8 + name.charAt(0) - 'a';
+    }
+
+    /**
+     * @param names names of the squares
+     * @return bitboard of the squares
+     */
+    private static long bits(String... names) {
+        long bits = 0;
+        for (String name : names) {
+            bits |= 1L << square(name);
+        }
+        return bits;
+    }
+}
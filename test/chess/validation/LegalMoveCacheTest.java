@@ -0,0 +1,127 @@
+package chess.validation;
+
+import chess.ChessBoard;
+import chess.ChessDoer;
+import chess.FenNotation;
+import chess.metrics.GameEndCheckEvent;
+import chess.navigation.BoundVector;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static chess.Assertions.assertEquals;
+import static chess.Assertions.assertFalse;
+import static chess.Assertions.assertThrows;
+import static chess.Assertions.assertTrue;
+
+public class LegalMoveCacheTest {
+
+    /**
+     * The same chesspieces with the other color on the move are another position,
+     * ChessBoard equality alone would answer the moves of the wrong color
+     */
+    public static void colorOnTheMoveIsPartOfTheKey() {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        ChessBoard white = FenNotation.getChessBoard("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1");
+        ChessBoard black = FenNotation.getChessBoard("4k3/8/8/8/8/8/4P3/4K3 b - - 0 1");
+        assertEquals(white, black, "chessboards compare equal without the color");
+        assertEquals(Set.of(ChessArbiter.strictlyLegalMoves(white)), cache.getLegalMoves(white), "whites");
+        assertEquals(Set.of(ChessArbiter.strictlyLegalMoves(black)), cache.getLegalMoves(black), "blacks");
+        assertTrue(cache.isStrictlyLegalMove(white, ChessDoer.getBoundVector("e2e4")), "white pawn on the move");
+        assertFalse(cache.isStrictlyLegalMove(black, ChessDoer.getBoundVector("e2e4")), "white pawn not on the move");
+        assertEquals(2L, cache.getMisses(), "both colors computed");
+    }
+
+    /**
+     * Equal chessboards reached by different moves share an entry
+     */
+    public static void transpositionsAreAnsweredFromTheCache() {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        ChessBoard start = ChessBoard.create();
+        ChessBoard first = play(start, "g1f3", "g8f6", "b1c3");
+        ChessBoard second = play(start, "b1c3", "g8f6", "g1f3");
+        Set<BoundVector> moves = cache.getLegalMoves(first);
+        assertEquals(moves, cache.getLegalMoves(second), "transposed position");
+        assertEquals(1L, cache.getMisses(), "misses");
+        assertEquals(1L, cache.getHits(), "hits");
+    }
+
+    /**
+     * When the cache is full the least recently used position is computed again
+     */
+    public static void leastRecentlyUsedPositionIsEvicted() {
+        LegalMoveCache cache = new LegalMoveCache(2);
+        ChessBoard a = ChessBoard.create();
+        ChessBoard b = play(a, "e2e4");
+        ChessBoard c = play(b, "e7e5");
+        cache.getLegalMoves(a);
+        cache.getLegalMoves(b);
+        cache.getLegalMoves(a);
+        cache.getLegalMoves(c);
+        cache.getLegalMoves(a);
+        assertEquals(2L, cache.getHits(), "a stays while b is evicted");
+        cache.getLegalMoves(b);
+        assertEquals(4L, cache.getMisses(), "b computed again");
+        assertThrows(IllegalArgumentException.class, () -> new LegalMoveCache(0), "capacity 0");
+    }
+
+    /**
+     * The game end check from the cache agrees with the arbiter on checkmate, stalemate and a game still going on
+     */
+    public static void gameEndAgreesWithTheArbiter() {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        for (String fen : List.of("7k/6Q1/6K1/8/8/8/8/8 b - - 0 1", "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1",
+                "7k/8/6K1/8/8/8/8/5Q2 b - - 0 1")) {
+            ChessBoard chessBoard = FenNotation.getChessBoard(fen);
+            assertEquals(ChessArbiter.currentPlayerHasNoStrictlyLegalMoves(chessBoard),
+                    cache.currentPlayerHasNoLegalMoves(chessBoard), fen);
+        }
+    }
+
+    /**
+     * A game end check answered from the cache is still recorded by the flight recorder,
+     * the first one examines the moves and the second one none
+     *
+     * @throws IOException if the recording cannot be written or read
+     */
+    public static void cachedGameEndCheckIsRecorded() throws IOException {
+        LegalMoveCache cache = new LegalMoveCache(16);
+        ChessBoard checkmate = FenNotation.getChessBoard("7k/6Q1/6K1/8/8/8/8/8 b - - 0 1");
+        Path file = Files.createTempFile("game-end", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(GameEndCheckEvent.class).withoutThreshold();
+            recording.start();
+            assertTrue(cache.currentPlayerHasNoLegalMoves(checkmate), "computed");
+            assertTrue(cache.currentPlayerHasNoLegalMoves(checkmate), "cached");
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(2, events.size(), "events");
+            assertTrue(events.get(0).getLong("movesExamined") > 0, "moves examined when computed");
+            assertEquals(0L, events.get(1).getLong("movesExamined"), "moves examined when cached");
+            assertTrue(events.get(1).getBoolean("noLegalMoves"), "no legal moves");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * The method makes moves given in coordinate notation one after another
+     *
+     * @param chessBoard chessboard the moves start from
+     * @param moves      moves to make
+     * @return chessboard with all the moves made
+     */
+    private static ChessBoard play(ChessBoard chessBoard, String... moves) {
+        for (String move : moves) {
+            chessBoard = ChessDoer.makeStandardChessMove(chessBoard, ChessDoer.getBoundVector(move), () -> null);
+        }
+        return chessBoard;
+    }
+}